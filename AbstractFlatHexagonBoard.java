@@ -0,0 +1,430 @@
+import java.io.IOException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * AbstractFlatHexagonBoard is the cursor shared by the boards that keep their cells in one array
+ * in row-major order (see HexagonLayout.java) instead of in HexagonNodes.
+ * It has the same rows, columns, and moves as the cursor of a HexagonBoard,
+ * the subclasses decide what kind of array the cells are kept in.
+ */
+public abstract class AbstractFlatHexagonBoard {
+    private final int size;
+    private final int cellCount;
+    private HexagonTopology topology; // shared by every board of this size, null until neighbours are first needed
+
+    // the cursor, index is the position of the current cell in row-major order
+    private int row;
+    private int col;
+    private int index;
+
+    private HexagonDirtyCells changes; // the cells that changed since the board was last drawn, null if not tracked
+
+    /**
+     * Constructor method for the cursor of a new board, the cursor starts on the centre cell.
+     * @param sz the size of the board
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE
+     */
+    protected AbstractFlatHexagonBoard(int sz) {
+        if (sz < 0) {
+            throw new RuntimeException(this.getClass().getSimpleName() + " must have size at least 0");
+        }
+        else if (sz > HexagonLayout.MAX_SIZE) {
+            throw new RuntimeException(this.getClass().getSimpleName() + " must have size at most " + HexagonLayout.MAX_SIZE);
+        }
+        else {
+            this.size = sz;
+            this.cellCount = HexagonLayout.cellCount(sz);
+            this.goCentre();
+        }
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of cells on the board
+     */
+    public int cellCount() {
+        return this.cellCount;
+    }
+
+    /**
+     * @return the neighbour table shared by every board of this size, or null if the board is bigger than
+     *         HexagonTopology.MAX_CACHED_SIZE. The table is only looked up the first time it is needed,
+     *         so boards that never ask for neighbours do not keep one in memory.
+     */
+    public HexagonTopology topology() {
+        if (this.topology == null) {
+            this.topology = HexagonTopology.ofOrNull(this.size);
+        } else {}
+        return this.topology;
+    }
+
+    /**
+     * @return the index of the centre cell in row-major order
+     */
+    public int centreIndex() {
+        return this.cellCount / 2;
+    }
+
+    /**
+     * @return the row index of the current cell
+     */
+    public int row() {
+        return this.row;
+    }
+
+    /**
+     * @return the column index of the current cell
+     */
+    public int col() {
+        return this.col;
+    }
+
+    /**
+     * @return the index of the current cell in row-major order
+     */
+    public int index() {
+        return this.index;
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the index of the cell at row r and column c in row-major order
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public int index(int r, int c) {
+        if (!HexagonLayout.contains(this.size, r, c)) {
+            throw new RuntimeException(this.getClass().getSimpleName() + " has no cell at row " + r + ", column " + c);
+        }
+        else {
+            return HexagonLayout.index(this.size, r, c);
+        }
+    }
+
+    /**
+     * Put the index of every neighbour of cell i into out, without making any objects.
+     * The neighbours are in the order up left, up right, mid left, mid right, down left, down right,
+     * skipping the ones that are not on the board.
+     * @param i the index of a cell in row-major order
+     * @param out where the indexes of the neighbours are put, it must have room for 6
+     * @return the number of neighbours put into out
+     * @precond 0 <= i < cellCount()
+     */
+    public int neighbours(int i, int[] out) {
+        HexagonTopology table = this.topology();
+        if (table != null) {
+            return table.neighbours(i, out);
+        }
+        else {
+            return HexagonLayout.neighbours(this.size, i, out);
+        }
+    }
+
+    /**
+     * Give the index of every neighbour of cell i to action, in the same order as neighbours(), without making any objects.
+     * @param i the index of a cell in row-major order
+     * @param action what to do with the index of each neighbour
+     * @precond 0 <= i < cellCount()
+     */
+    public void forEachNeighbour(int i, IntConsumer action) {
+        HexagonTopology table = this.topology();
+        if (table != null) {
+            table.forEachNeighbour(i, action);
+        }
+        else {
+            HexagonLayout.forEachNeighbour(this.size, i, action);
+        }
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @param k the ring, 0 for just cell i
+     * @return an iterator over the cells that are k moves away from cell i, clockwise from the up left corner of the ring
+     * @precond 0 <= i < cellCount() and k >= 0
+     */
+    public PrimitiveIterator.OfInt ring(int i, int k) {
+        return HexagonRingIterator.ring(this.size, i, k);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @param radius the last ring of the spiral
+     * @return an iterator over the cells that are at most radius moves away from cell i, nearest ring first
+     * @precond 0 <= i < cellCount() and radius >= 0
+     */
+    public PrimitiveIterator.OfInt spiral(int i, int radius) {
+        return HexagonRingIterator.spiral(this.size, i, radius);
+    }
+
+    /**
+     * @param a the index of a cell in row-major order
+     * @param b the index of another cell in row-major order
+     * @return the number of moves between cell a and cell b, worked out from their axial coordinates
+     * @precond 0 <= a, b < cellCount()
+     */
+    public int distance(int a, int b) {
+        return HexagonCoordinates.distance(this.size, a, b);
+    }
+
+    /**
+     * Put the cells on the straight line from cell a to cell b into out, in order from a to b (see HexagonLines.java).
+     * @param a the index of the first cell in row-major order
+     * @param b the index of the last cell in row-major order
+     * @param out where the cells of the line are put, it must have room for distance(a, b) + 1 cells
+     * @return the number of cells put into out
+     * @precond 0 <= a, b < cellCount()
+     */
+    public int line(int a, int b, int[] out) {
+        return HexagonLines.line(this.size, a, b, out);
+    }
+
+    /**
+     * Check which of the targets can be seen from the source, a target can be seen
+     * if no cell on the line between them is blocked (see HexagonLines.java).
+     * @param source the index of the cell that is looking
+     * @param targets the indexes of the cells that are looked at
+     * @param count the number of targets
+     * @param blocked true for the cells that cannot be seen through
+     * @param visible where the answer for each target is put
+     * @return the number of targets that can be seen
+     * @precond 0 <= source < cellCount() and 0 <= every target < cellCount()
+     */
+    public int lineOfSight(int source, int[] targets, int count, IntPredicate blocked, boolean[] visible) {
+        return HexagonLines.lineOfSight(this.size, source, targets, count, blocked, visible);
+    }
+
+    /**
+     * @return a Spliterator over the index of every cell in row-major order, it splits at the start of a row
+     */
+    public Spliterator.OfInt cells() {
+        return new HexagonCellSpliterator(this.size);
+    }
+
+    /**
+     * @return a sequential stream of the index of every cell in row-major order, call parallel() on it for a parallel stream
+     */
+    public IntStream cellStream() {
+        return StreamSupport.intStream(this.cells(), false);
+    }
+
+    /**
+     * Set the current cell to the centre cell.
+     */
+    public void goCentre() {
+        this.row = this.size;
+        this.col = this.size;
+        this.moved(this.cellCount / 2);
+    }
+
+    /**
+     * Check if the current cell has a next cell in the specified direction.
+     * @return true if the current cell has a next cell in the specified direction, false otherwise
+     */
+    public boolean hasUpLeft() {
+        return this.row > 0 && (this.row > this.size || this.col > 0);
+    }
+    public boolean hasUpRight() {
+        return this.row > 0 && (this.row > this.size || this.col < this.lastCol());
+    }
+    public boolean hasMidLeft() {
+        return this.col > 0;
+    }
+    public boolean hasMidRight() {
+        return this.col < this.lastCol();
+    }
+    public boolean hasDownLeft() {
+        return this.row < 2 * this.size && (this.row < this.size || this.col > 0);
+    }
+    public boolean hasDownRight() {
+        return this.row < 2 * this.size && (this.row < this.size || this.col < this.lastCol());
+    }
+
+    /**
+     * Set the current cell to the next cell in the given direction.
+     * @postcond the current cell is set to the next cell if there is one,
+     *           row and column change depending on the move
+     * @return true if the move was successful, false if there was no cell to go to
+     */
+    public boolean goUpLeft() {
+        if (this.hasUpLeft()) {
+            if (this.row <= this.size) {
+                this.col -= 1;
+            } else {}
+            this.row -= 1;
+            this.moved(HexagonLayout.index(this.size, this.row, this.col));
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+    public boolean goUpRight() {
+        if (this.hasUpRight()) {
+            if (this.row > this.size) {
+                this.col += 1;
+            } else {}
+            this.row -= 1;
+            this.moved(HexagonLayout.index(this.size, this.row, this.col));
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+    public boolean goMidLeft() {
+        if (this.hasMidLeft()) {
+            this.col -= 1;
+            this.moved(this.index - 1);
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+    public boolean goMidRight() {
+        if (this.hasMidRight()) {
+            this.col += 1;
+            this.moved(this.index + 1);
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+    public boolean goDownLeft() {
+        if (this.hasDownLeft()) {
+            if (this.row >= this.size) {
+                this.col -= 1;
+            } else {}
+            this.row += 1;
+            this.moved(HexagonLayout.index(this.size, this.row, this.col));
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+    public boolean goDownRight() {
+        if (this.hasDownRight()) {
+            if (this.row < this.size) {
+                this.col += 1;
+            }
+            this.row += 1;
+            this.moved(HexagonLayout.index(this.size, this.row, this.col));
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+
+    /**
+     * Set the index of the current cell, the row and column must already be set.
+     * @param i the index of the new current cell
+     */
+    private void moved(int i) {
+        if (this.changes != null) {
+            this.changes.mark(this.index);
+            this.changes.mark(i);
+        } else {}
+        this.index = i;
+    }
+
+    /**
+     * Start remembering which cells change, so that renderChanges() can draw only those cells.
+     */
+    public void trackChanges() {
+        if (this.changes == null) {
+            this.changes = new HexagonDirtyCells(this.size);
+        } else {}
+    }
+
+    /**
+     * @return the cells that changed since the board was last drawn, or null if trackChanges() was not called
+     */
+    public HexagonDirtyCells changes() {
+        return this.changes;
+    }
+
+    /**
+     * Subclasses call this every time the value of a cell is set.
+     * @param i the index of the cell that was set
+     */
+    protected final void changed(int i) {
+        if (this.changes != null) {
+            this.changes.mark(i);
+        } else {}
+    }
+
+    /**
+     * @return the column index of the last cell in the current row
+     */
+    private int lastCol() {
+        return HexagonLayout.rowLength(this.size, this.row) - 1;
+    }
+
+    /**
+     * Write the picture of the board to out, the current cell is marked with a * instead of an O.
+     * @param out where the picture is written, such as a Writer or a StringBuilder
+     * @throws IOException if out cannot be written to
+     */
+    public void render(Appendable out) throws IOException {
+        this.render(out, null);
+    }
+
+    /**
+     * Write the picture of the board to out, the current cell is marked with a * and every other cell is drawn with glyphs.
+     * If changes are tracked, every cell is clean afterwards.
+     * @param out where the picture is written, such as a Writer or a StringBuilder
+     * @param glyphs the character for each cell, by index in row-major order, or null to draw every cell as an O
+     * @throws IOException if out cannot be written to
+     */
+    public void render(Appendable out, HexagonGlyphs glyphs) throws IOException {
+        HexagonBoardRenderer.render(this.size, this.row, this.col, glyphs, out);
+        if (this.changes != null) {
+            this.changes.clear();
+        } else {}
+    }
+
+    /**
+     * Write ANSI escape sequences to out that redraw only the cells that changed since the board was last drawn.
+     * @param out where the escape sequences are written, such as the Writer of a terminal
+     * @param glyphs the character for each cell, by index in row-major order, or null to draw every cell as an O
+     * @throws IOException if out cannot be written to
+     * @precond trackChanges() was called and the board was drawn with render() since then
+     */
+    public void renderChanges(Appendable out, HexagonGlyphs glyphs) throws IOException {
+        if (this.changes == null) {
+            throw new RuntimeException("Call trackChanges() before renderChanges()");
+        } else {}
+        this.changes.render(this.index, glyphs, out);
+    }
+
+    /**
+     * @return string representation of the board, the current cell is marked with a * instead of an O
+     */
+    public String toString() {
+        return HexagonBoardRenderer.toString(this.size, this.row, this.col);
+    }
+
+    /**
+     * @param glyphs the character for each cell, by index in row-major order
+     * @return string representation of the board, the current cell is marked with a * and every other cell is drawn with glyphs
+     */
+    public String toString(HexagonGlyphs glyphs) {
+        return HexagonBoardRenderer.toString(this.size, this.row, this.col, glyphs);
+    }
+}
@@ -0,0 +1,295 @@
+import java.util.function.IntConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * ByteHexagonBoard is a board like FlatHexagonBoard where every cell holds a byte instead of an object,
+ * the values are kept in one byte[] in row-major order so they are never boxed.
+ * Every cell starts with the value 0.
+ */
+public class ByteHexagonBoard extends AbstractFlatHexagonBoard {
+    private byte[] values; // the value of every cell, in row-major order
+
+    private HexagonZobrist zobrist; // the keys of the running hash, null if the hash is not kept
+    private long hash; // the Zobrist hash of the values of every cell
+
+    /**
+     * Constructor method for a new ByteHexagonBoard.
+     * @param sz the size of the ByteHexagonBoard
+     * @precond sz >= 0
+     */
+    public ByteHexagonBoard(int sz) {
+        super(sz);
+        this.values = new byte[this.cellCount()];
+    }
+
+    /**
+     * @return the value stored in the centre cell
+     */
+    public byte centreNodeItem() {
+        return this.values[this.centreIndex()];
+    }
+
+    /**
+     * Set the centre cell's value equal to x.
+     * @param x the value to be placed in the centre cell
+     */
+    public void setCentreNodeItem(byte x) {
+        this.set(this.centreIndex(), x);
+    }
+
+    /**
+     * @return the value stored in the current cell
+     */
+    public byte currentNodeItem() {
+        return this.values[this.index()];
+    }
+
+    /**
+     * Set the current cell's value equal to x.
+     * @param x value to be placed in the current cell
+     */
+    public void setCurrentNodeItem(byte x) {
+        this.set(this.index(), x);
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the value stored in the cell at row r and column c, the cursor does not move
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public byte get(int r, int c) {
+        return this.values[this.index(r, c)];
+    }
+
+    /**
+     * Set the value of the cell at row r and column c equal to x, the cursor does not move.
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @param x the value to be placed in the cell
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public void set(int r, int c, byte x) {
+        this.set(this.index(r, c), x);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the value stored in cell i
+     * @precond 0 <= i < cellCount()
+     */
+    public byte get(int i) {
+        return this.values[i];
+    }
+
+    /**
+     * Set the value of cell i equal to x, the cursor does not move.
+     * @param i the index of a cell in row-major order
+     * @param x the value to be placed in the cell
+     * @precond 0 <= i < cellCount()
+     */
+    public void set(int i, byte x) {
+        if (this.zobrist != null) {
+            this.hash ^= this.zobrist.key(i, x) ^ this.zobrist.key(i, this.values[i]);
+        } else {}
+        this.values[i] = x;
+        this.changed(i);
+    }
+
+    /**
+     * Start keeping a Zobrist hash of the values of every cell (see HexagonZobrist.java),
+     * after this every set() updates the hash in constant time.
+     * Each value is its own item code, so every value must be between 0 and codes - 1.
+     * The cursor is not part of the hash. Boards of the same size with the same codes and values have the same hash.
+     * @param codes the number of different values the cells can hold, at most HexagonZobrist.MAX_CODES
+     * @precond every value on the board is between 0 and codes - 1
+     */
+    public void trackHash(int codes) {
+        HexagonZobrist keys = new HexagonZobrist(this.size(), codes);
+        long h = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            h ^= keys.key(i, this.values[i]);
+        }
+        this.zobrist = keys;
+        this.hash = h;
+    }
+
+    /**
+     * @return the Zobrist hash of the values of every cell
+     * @precond trackHash() was called
+     */
+    public long hash() {
+        if (this.zobrist == null) {
+            throw new RuntimeException("Call trackHash() before hash()");
+        } else {}
+        return this.hash;
+    }
+
+    /**
+     * Give the value of every cell to action, in row-major order.
+     * The values are widened to int, Java does not have a consumer of bytes.
+     * @param action what to do with each value
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < this.values.length; i++) {
+            action.accept(this.values[i]);
+        }
+    }
+
+    /**
+     * Set the value of every cell equal to x, with HexagonKernels.best().
+     * If the board keeps a hash or tracks changes, every cell is set with set() instead so that they stay right.
+     * @param x value to be placed in every cell
+     */
+    public void fill(byte x) {
+        if (this.zobrist != null || this.changes() != null) {
+            for (int i = 0; i < this.values.length; i++) {
+                this.set(i, x);
+            }
+        }
+        else {
+            HexagonKernels.best().fill(this.values, 0, this.values.length, x);
+        }
+    }
+
+    /**
+     * @param x a value
+     * @return the number of cells whose value is x
+     */
+    public int count(byte x) {
+        return HexagonKernels.best().countEqual(this.values, 0, this.values.length, x);
+    }
+
+    /**
+     * @param other a board of the same size
+     * @return the number of cells whose value is different on the other board
+     * @precond other.size() == size()
+     */
+    public int differences(ByteHexagonBoard other) {
+        if (other.size() != this.size()) {
+            throw new RuntimeException("Cannot compare a board of size " + this.size() + " with a board of size " + other.size());
+        } else {}
+        return HexagonKernels.best().diff(this.values, other.values, 0, this.values.length);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing ByteHexagonBoard.java");
+        int uErrors = 0; // unintentional errors
+
+        // test ByteHexagonBoard constructor with a board of size -1
+        try {
+            ByteHexagonBoard invalidBoard = new ByteHexagonBoard(-1);
+            System.out.println("Error: ByteHexagonBoard() constructor did not throw an exception for a board of size -1");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("ByteHexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+
+        try {
+            // test the lowest and highest bytes, and that count() and fill() treat negative bytes as values
+            ByteHexagonBoard extremes = new ByteHexagonBoard(2);
+            if (extremes.count((byte) 0) != 19) {
+                System.out.println("Error: every cell of a new board should be 0, but only " + extremes.count((byte) 0) + " of 19 are");
+                uErrors += 1;
+            } else {}
+            extremes.goMidRight();
+            extremes.setCurrentNodeItem(Byte.MIN_VALUE);
+            extremes.setCentreNodeItem(Byte.MAX_VALUE);
+            if (extremes.currentNodeItem() != Byte.MIN_VALUE || extremes.centreNodeItem() != Byte.MAX_VALUE
+                    || extremes.count(Byte.MIN_VALUE) != 1 || extremes.count(Byte.MAX_VALUE) != 1) {
+                System.out.println("Error: the lowest and highest bytes were not kept in the cells they were set in");
+                uErrors += 1;
+            } else {}
+            extremes.fill(Byte.MIN_VALUE);
+            if (extremes.count(Byte.MIN_VALUE) != 19 || extremes.centreNodeItem() != Byte.MIN_VALUE) {
+                System.out.println("Error: fill() did not set every cell to " + Byte.MIN_VALUE);
+                uErrors += 1;
+            } else {}
+            // the highest byte is the highest item code a hash can have, and negative bytes have no code
+            ByteHexagonBoard highest = new ByteHexagonBoard(1);
+            highest.setCentreNodeItem(Byte.MAX_VALUE);
+            highest.trackHash(HexagonZobrist.MAX_CODES);
+            if (highest.hash() != new HexagonZobrist(1, HexagonZobrist.MAX_CODES).key(highest.centreIndex(), Byte.MAX_VALUE)) {
+                System.out.println("Error: a board holding only " + Byte.MAX_VALUE + " should hash to that value's key");
+                uErrors += 1;
+            } else {}
+            try {
+                extremes.trackHash(HexagonZobrist.MAX_CODES);
+                System.out.println("Error: trackHash() did not throw an exception for a cell holding " + Byte.MIN_VALUE);
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("trackHash() correctly caught exception for invalid input.");
+            }
+
+            // test get(), set(), and forEach()
+            ByteHexagonBoard board = new ByteHexagonBoard(3);
+            board.set(0, 3, (byte) 7);
+            board.set(6, 0, (byte) 9);
+            board.set(board.centreIndex(), (byte) 11);
+            if (board.get(0, 3) != 7 || board.get(board.cellCount() - 4) != 9 || board.centreNodeItem() != 11) {
+                System.out.println("Error: get() did not return the values given to set()");
+                uErrors += 1;
+            } else {}
+            long[] total = new long[1];
+            board.forEach(v -> total[0] += v);
+            if (total[0] != 27) {
+                System.out.println("Error: forEach() should add up to 27, but added up to " + total[0]);
+                uErrors += 1;
+            } else {}
+
+            // test line() and lineOfSight(), the cells that are not 0 are blocked
+            int[] line = new int[7];
+            int[] targets = {board.index(6, 3), board.index(0, 2)};
+            boolean[] visible = new boolean[targets.length];
+            int seen = board.lineOfSight(0, targets, targets.length, i -> board.get(i) != 0, visible);
+            if (board.line(0, board.index(6, 3), line) != 7 || line[3] != board.centreIndex()
+                    || seen != 1 || visible[0] || !visible[1]) {
+                System.out.println("Error: the line from the top left cell to the bottom middle cell should be blocked by the centre");
+                uErrors += 1;
+            } else {}
+
+            // test that setCurrentNodeItem() keeps the hash, and that moving the cursor does not change it
+            ByteHexagonBoard hashed = new ByteHexagonBoard(3);
+            hashed.trackHash(2);
+            hashed.goDownRight();
+            hashed.setCurrentNodeItem((byte) 1);
+            int placed = hashed.index();
+            long one = hashed.hash();
+            hashed.goDownLeft();
+            ByteHexagonBoard copy = new ByteHexagonBoard(3);
+            copy.set(placed, (byte) 1);
+            copy.trackHash(2);
+            if (one == 0 || hashed.hash() != one || copy.hash() != one) {
+                System.out.println("Error: the hash should only depend on the values of the cells");
+                uErrors += 1;
+            } else {}
+            // test fill(), count(), and differences(), the hashed board sets every cell so its hash stays right
+            copy.fill((byte) 1);
+            hashed.fill((byte) 1);
+            copy.set(0, (byte) 0);
+            if (copy.count((byte) 1) != copy.cellCount() - 1 || copy.differences(hashed) != 1
+                    || copy.differences(copy) != 0 || hashed.hash() != (copy.hash() ^ new HexagonZobrist(3, 2).key(0, 1))) {
+                System.out.println("Error: fill(), count(), or differences() is wrong");
+                uErrors += 1;
+            } else {}
+            try {
+                hashed.set(0, (byte) 2);
+                System.out.println("Error: set() did not throw an exception for a value with no hash key");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("set() correctly caught exception for invalid input.");
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: ByteHexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,312 @@
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A FlatHexagonBoard has the same shape, rows, columns, and cursor as a HexagonBoard,
+ * but it does not make a HexagonNode for each cell.
+ * Instead, all of the items are kept in one array in row-major order (see HexagonLayout.java),
+ * and the neighbours of a cell are worked out from its row and column.
+ * Like the primitive boards, a FlatHexagonBoard can keep a Zobrist hash of its items (see trackHash()),
+ * since every item is placed with set(). HexagonBoard cannot, since its items can be changed through its nodes.
+ */
+public class FlatHexagonBoard<I> extends AbstractFlatHexagonBoard {
+    private Object[] items; // the items of every cell, in row-major order
+
+    private HexagonZobrist zobrist; // the keys of the running hash, null if the hash is not kept
+    private ToIntFunction<? super I> codeOf; // the item code of each item that is not null
+    private long hash; // the Zobrist hash of the items of every cell
+
+    /**
+     * Constructor method for a new FlatHexagonBoard, every cell starts with a null item.
+     * @param sz the size of the FlatHexagonBoard
+     * @precond sz >= 0
+     */
+    public FlatHexagonBoard(int sz) {
+        super(sz);
+        this.items = new Object[this.cellCount()];
+    }
+
+    /**
+     * @return the item stored in the centre cell
+     */
+    @SuppressWarnings("unchecked")
+    public I centreNodeItem() {
+        return (I) this.items[this.centreIndex()];
+    }
+
+    /**
+     * Set the centre cell's item equal to x.
+     * @param x the item to be placed in the centre cell
+     */
+    public void setCentreNodeItem(I x) {
+        this.set(this.centreIndex(), x);
+    }
+
+    /**
+     * @return the item stored in the current cell
+     */
+    @SuppressWarnings("unchecked")
+    public I currentNodeItem() {
+        return (I) this.items[this.index()];
+    }
+
+    /**
+     * Set the current cell's item equal to x.
+     * @param x item to be placed in the current cell
+     */
+    public void setCurrentNodeItem(I x) {
+        this.set(this.index(), x);
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the item stored in the cell at row r and column c, the cursor does not move
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    @SuppressWarnings("unchecked")
+    public I get(int r, int c) {
+        return (I) this.items[this.index(r, c)];
+    }
+
+    /**
+     * Set the item of the cell at row r and column c equal to x, the cursor does not move.
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @param x the item to be placed in the cell
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public void set(int r, int c, I x) {
+        this.set(this.index(r, c), x);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the item stored in cell i
+     * @precond 0 <= i < cellCount()
+     */
+    @SuppressWarnings("unchecked")
+    public I get(int i) {
+        return (I) this.items[i];
+    }
+
+    /**
+     * Set the item of cell i equal to x, the cursor does not move.
+     * @param i the index of a cell in row-major order
+     * @param x the item to be placed in the cell
+     * @precond 0 <= i < cellCount()
+     */
+    public void set(int i, I x) {
+        if (this.zobrist != null) {
+            this.hash ^= this.zobrist.key(i, this.code(x)) ^ this.zobrist.key(i, this.code(this.items[i]));
+        } else {}
+        this.items[i] = x;
+        this.changed(i);
+    }
+
+    /**
+     * Start keeping a Zobrist hash of the items of every cell (see HexagonZobrist.java),
+     * after this every set() updates the hash in constant time.
+     * A null item has code 0, and codeOf gives the code of every other item, between 1 and codes - 1.
+     * The code of an item must not change while it is on the board, since the board only sees items passed to set().
+     * The cursor is not part of the hash. Boards of the same size with the same codes and item codes have the same hash.
+     * @param codes the number of different item codes, at most HexagonZobrist.MAX_CODES
+     * @param codeOf the code of an item that is not null
+     * @precond the code of every item on the board is between 0 and codes - 1
+     */
+    public void trackHash(int codes, ToIntFunction<? super I> codeOf) {
+        HexagonZobrist keys = new HexagonZobrist(this.size(), codes);
+        this.codeOf = codeOf;
+        long h = 0;
+        for (int i = 0; i < this.items.length; i++) {
+            h ^= keys.key(i, this.code(this.items[i]));
+        }
+        this.zobrist = keys;
+        this.hash = h;
+    }
+
+    /**
+     * @return the Zobrist hash of the items of every cell
+     * @precond trackHash() was called
+     */
+    public long hash() {
+        if (this.zobrist == null) {
+            throw new RuntimeException("Call trackHash() before hash()");
+        } else {}
+        return this.hash;
+    }
+
+    /**
+     * @return the item code of item, 0 for null
+     */
+    @SuppressWarnings("unchecked")
+    private int code(Object item) {
+        return item == null ? 0 : this.codeOf.applyAsInt((I) item);
+    }
+
+    /**
+     * Give the item of every cell to action, in row-major order.
+     * @param action what to do with each item
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super I> action) {
+        for (int i = 0; i < this.items.length; i++) {
+            action.accept((I) this.items[i]);
+        }
+    }
+
+    /**
+     * @return a sequential stream of the item of every cell in row-major order, call parallel() on it for a parallel stream
+     */
+    public Stream<I> items() {
+        return this.cellStream().mapToObj(this::get);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing FlatHexagonBoard.java");
+        int uErrors = 0; // unintentional errors
+
+        // test FlatHexagonBoard constructor with a board of size -1
+        try {
+            FlatHexagonBoard<String> invalidBoard = new FlatHexagonBoard<>(-1);
+            System.out.println("Error: FlatHexagonBoard() constructor did not throw an exception for a board of size -1");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("FlatHexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+
+        // test a board of size 0
+        try {
+            FlatHexagonBoard<String> nothingBoard = new FlatHexagonBoard<>(0);
+            System.out.println(nothingBoard);
+            if (nothingBoard.cellCount() != 1) {
+                System.out.println("Error: cellCount() should return 1, but returned " + nothingBoard.cellCount());
+                uErrors += 1;
+            } else {}
+            nothingBoard.setCentreNodeItem("Only Node");
+            if (!"Only Node".equals(nothingBoard.currentNodeItem())) {
+                System.out.println("Error: setCentreNodeItem() did not properly change the current cell's item.");
+                uErrors += 1;
+            } else {}
+            if (nothingBoard.goUpLeft() || nothingBoard.goUpRight() || nothingBoard.goMidLeft()
+                    || nothingBoard.goMidRight() || nothingBoard.goDownLeft() || nothingBoard.goDownRight()) {
+                System.out.println("Error: a go method returned true when there was no cell to go to.");
+                uErrors += 1;
+            } else {}
+        }
+        catch (Exception e) {
+            System.out.println("Error: FlatHexagonBoard method threw an exception for a board of size 0.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // walk the same path over a HexagonBoard and a FlatHexagonBoard and compare them after every move
+        try {
+            for (int size = 1; size <= 4; size++) {
+                HexagonBoard<Integer> nodeBoard = new HexagonBoard<>(size);
+                FlatHexagonBoard<Integer> flatBoard = new FlatHexagonBoard<>(size);
+                if (!nodeBoard.toString().equals(flatBoard.toString())) {
+                    System.out.println("Error: toString() does not match HexagonBoard for a board of size " + size);
+                    uErrors += 1;
+                } else {}
+                Random random = new Random(size);
+                for (int step = 0; step < 2000; step++) {
+                    boolean nodeMoved;
+                    boolean flatMoved;
+                    switch (random.nextInt(6)) {
+                        case 0: nodeMoved = nodeBoard.goUpLeft(); flatMoved = flatBoard.goUpLeft(); break;
+                        case 1: nodeMoved = nodeBoard.goUpRight(); flatMoved = flatBoard.goUpRight(); break;
+                        case 2: nodeMoved = nodeBoard.goMidLeft(); flatMoved = flatBoard.goMidLeft(); break;
+                        case 3: nodeMoved = nodeBoard.goMidRight(); flatMoved = flatBoard.goMidRight(); break;
+                        case 4: nodeMoved = nodeBoard.goDownLeft(); flatMoved = flatBoard.goDownLeft(); break;
+                        default: nodeMoved = nodeBoard.goDownRight(); flatMoved = flatBoard.goDownRight(); break;
+                    }
+                    if (step % 3 == 0) {
+                        nodeBoard.setCurrentNodeItem(step);
+                        flatBoard.setCurrentNodeItem(step);
+                    } else {}
+                    if (nodeMoved != flatMoved || nodeBoard.row() != flatBoard.row() || nodeBoard.col() != flatBoard.col()
+                            || flatBoard.index() != HexagonLayout.index(size, flatBoard.row(), flatBoard.col())
+                            || !Objects.equals(nodeBoard.currentNodeItem(), flatBoard.currentNodeItem())) {
+                        System.out.println("Error: FlatHexagonBoard does not match HexagonBoard after step " + step
+                                + " on a board of size " + size);
+                        uErrors += 1;
+                        break;
+                    } else {}
+                }
+                if (!nodeBoard.toString().equals(flatBoard.toString())) {
+                    System.out.println("Error: toString() does not match HexagonBoard for a board of size " + size);
+                    uErrors += 1;
+                } else {}
+                // test get() and set() on every cell
+                for (int r = 0; r <= 2 * size; r++) {
+                    for (int c = 0; c < HexagonLayout.rowLength(size, r); c++) {
+                        flatBoard.set(r, c, r * 100 + c);
+                        nodeBoard.set(r, c, r * 100 + c);
+                    }
+                }
+                if (!Objects.equals(nodeBoard.currentNodeItem(), flatBoard.currentNodeItem())
+                        || flatBoard.get(flatBoard.row(), flatBoard.col()) != flatBoard.row() * 100 + flatBoard.col()) {
+                    System.out.println("Error: set() did not change the current cell on a board of size " + size);
+                    uErrors += 1;
+                } else {}
+                flatBoard.goCentre();
+                if (flatBoard.row() != size || flatBoard.col() != size
+                        || flatBoard.centreNodeItem() != flatBoard.currentNodeItem()) {
+                    System.out.println("Error: goCentre() did not set the current cell to the centre cell");
+                    uErrors += 1;
+                } else {}
+                if (!flatBoard.items().parallel().collect(Collectors.toList())
+                        .equals(nodeBoard.items().collect(Collectors.toList()))
+                        || flatBoard.cellStream().parallel().count() != flatBoard.cellCount()) {
+                    System.out.println("Error: items() or cellStream() does not match HexagonBoard on a board of size " + size);
+                    uErrors += 1;
+                } else {}
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: FlatHexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test that the hash follows set() with codes given by a function, and that null is code 0
+        try {
+            FlatHexagonBoard<String> hashed = new FlatHexagonBoard<>(2);
+            hashed.set(4, "black");
+            hashed.trackHash(3, s -> s.isEmpty() ? 3 : s.equals("black") ? 1 : 2);
+            HexagonZobrist keys = new HexagonZobrist(2, 3);
+            hashed.setCentreNodeItem("white");
+            hashed.set(0, "black");
+            hashed.set(0, null);
+            if (hashed.hash() != (keys.key(4, 1) ^ keys.key(hashed.centreIndex(), 2))) {
+                System.out.println("Error: hash() should only count the black item at 4 and the white item at the centre");
+                uErrors += 1;
+            } else {}
+            try {
+                hashed.set(1, "");
+                System.out.println("Error: set() did not throw an exception for an item with a code that is too big");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("set() correctly caught exception for invalid input.");
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: FlatHexagonBoard hash method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println(new FlatHexagonBoard<Integer>(3));
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,333 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A HexagonAutomaton runs a cellular automaton on a ByteHexagonBoard: in every generation each cell
+ * changes to the state its HexagonRule gives for its own state and the number of its neighbours that are live.
+ * Cells off the edge of the board count as not live.
+ *
+ * The states are kept in two byte buffers laid out in axial coordinates (see HexagonCoordinates.java)
+ * with a border of cells that are always 0, so every neighbour of a cell is at the same offset in the buffer
+ * and the inner loop has no edge checks:
+ *
+ *     up left -width, up right -width + 1, mid left -1, mid right +1, down left width - 1, down right +width
+ *
+ * Each generation reads one buffer and writes the other, then the two are swapped.
+ * The rule is turned into a table of next states when the automaton is made, so stepping a cell is one lookup.
+ * The rows are stepped by HexagonKernels.best(), which uses vector instructions when they are available.
+ * With a ForkJoinPool, the rows are split into tiles of about HexagonBoard.PARALLEL_CELLS cells and the tiles of
+ * a generation are run at the same time. The tiles are tasks that are made once and reinitialized for every
+ * generation, so stepping allocates nothing.
+ */
+public class HexagonAutomaton {
+
+    /** The most states an automaton can have, since the states are kept in bytes. */
+    public static final int MAX_STATES = 128;
+
+    private final ByteHexagonBoard board;
+    private final int states;
+    private final byte[] table; // the next state of each state and live count, table[7 * state + live]
+    private final HexagonKernels kernels; // the loops that step the rows, see HexagonKernels.java
+    private final ForkJoinPool pool; // the threads that run the tiles, or null to run them on the calling thread
+
+    private final int width; // the number of bytes in every row of the buffers
+    private final int[] rowStarts; // the offset in the buffers of the first cell of each row
+    private byte[] current; // the states of this generation
+    private byte[] next; // the states of the next generation
+    private long generation; // the number of generations that were run
+
+    private final Tile[] tiles;
+    private final Generation step;
+
+    /**
+     * Tile works out the next states of the rows from first up to but not including last.
+     */
+    private final class Tile extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int last;
+
+        private Tile(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            HexagonAutomaton.this.stepRows(this.first, this.last);
+        }
+    }
+
+    /**
+     * Generation runs every tile of one generation in the pool.
+     */
+    private final class Generation extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            Tile[] all = HexagonAutomaton.this.tiles;
+            for (Tile tile : all) {
+                tile.reinitialize();
+            }
+            ForkJoinTask.invokeAll(all);
+        }
+    }
+
+    /**
+     * Constructor method for a new HexagonAutomaton that runs on the calling thread.
+     * @param board the board whose cells are stepped, every value on it must be a state
+     * @param states the number of states, the states are 0 up to but not including states
+     * @param rule the next state of a cell from its state and the number of its live neighbours
+     * @precond 1 <= states <= MAX_STATES
+     */
+    public HexagonAutomaton(ByteHexagonBoard board, int states, HexagonRule rule) {
+        this(board, states, rule, null);
+    }
+
+    /**
+     * Constructor method for a new HexagonAutomaton.
+     * @param board the board whose cells are stepped, every value on it must be a state
+     * @param states the number of states, the states are 0 up to but not including states
+     * @param rule the next state of a cell from its state and the number of its live neighbours
+     * @param pool the threads that step the tiles of a big board, or null to step every cell on the calling thread
+     * @precond 1 <= states <= MAX_STATES
+     */
+    public HexagonAutomaton(ByteHexagonBoard board, int states, HexagonRule rule, ForkJoinPool pool) {
+        if (states < 1 || states > MAX_STATES) {
+            throw new RuntimeException("HexagonAutomaton must have between 1 and " + MAX_STATES + " states");
+        } else {}
+        this.board = board;
+        this.states = states;
+        this.pool = pool;
+        // padded so that the vector kernels can look up the next states with one shuffle
+        this.table = new byte[Math.max(7 * states, HexagonKernels.TABLE_LENGTH)];
+        this.kernels = HexagonKernels.best();
+        for (int state = 0; state < states; state++) {
+            for (int live = 0; live <= HexagonLayout.DIRECTIONS; live++) {
+                int after = rule.next(state, live);
+                if (after < 0 || after >= states) {
+                    throw new RuntimeException("The rule gives state " + after + " for state " + state + " with " + live
+                            + " live neighbours, but the states are 0 to " + (states - 1));
+                } else {}
+                this.table[7 * state + live] = (byte) after;
+            }
+        }
+
+        int size = board.size();
+        this.width = 2 * size + 3;
+        this.rowStarts = new int[2 * size + 1];
+        for (int r = 0; r <= 2 * size; r++) {
+            // the first cell of row r has q + size = max(size - r, 0), and the border adds one row and one column
+            this.rowStarts[r] = (r + 1) * this.width + Math.max(size - r, 0) + 1;
+        }
+        this.current = new byte[this.width * this.width];
+        this.next = new byte[this.width * this.width];
+        this.generation = 0;
+
+        // split the rows into tiles with about the same number of cells
+        int cells = board.cellCount();
+        int tileCount = pool == null ? 1 : Math.max(1, Math.min(2 * size + 1, cells / HexagonBoard.PARALLEL_CELLS));
+        this.tiles = new Tile[tileCount];
+        int first = 0;
+        int done = 0;
+        for (int t = 0; t < tileCount; t++) {
+            int last = first;
+            long goal = (long) cells * (t + 1) / tileCount;
+            while (last <= 2 * size && (done < goal || last == first)) {
+                done += HexagonLayout.rowLength(size, last);
+                last += 1;
+            }
+            this.tiles[t] = new Tile(first, last);
+            first = last;
+        }
+        this.step = new Generation();
+    }
+
+    /**
+     * @return the board whose cells are stepped
+     */
+    public ByteHexagonBoard board() {
+        return this.board;
+    }
+
+    /**
+     * @return the number of generations that were run
+     */
+    public long generation() {
+        return this.generation;
+    }
+
+    /**
+     * Run one generation.
+     */
+    public void step() {
+        this.step(1);
+    }
+
+    /**
+     * Run the given number of generations. The states are read from the board before the first generation
+     * and written back after the last, so the board can be changed between calls but not while they run.
+     * Only the cells that changed are written back with set(), so changes and hashes kept by the board stay right.
+     * @param generations the number of generations to run
+     * @precond generations >= 0
+     */
+    public void step(int generations) {
+        this.load();
+        for (int g = 0; g < generations; g++) {
+            if (this.tiles.length == 1) {
+                this.stepRows(0, 2 * this.board.size() + 1);
+            }
+            else {
+                this.step.reinitialize();
+                this.pool.invoke(this.step);
+            }
+            byte[] swap = this.current;
+            this.current = this.next;
+            this.next = swap;
+            this.generation += 1;
+        }
+        this.store();
+    }
+
+    /**
+     * Work out the next states of the rows from first up to but not including last.
+     */
+    private void stepRows(int first, int last) {
+        int size = this.board.size();
+        for (int r = first; r < last; r++) {
+            int start = this.rowStarts[r];
+            this.kernels.step(this.current, this.width, this.table, start, start + HexagonLayout.rowLength(size, r), this.next);
+        }
+    }
+
+    /**
+     * Copy the states from the board into the current buffer.
+     */
+    private void load() {
+        int size = this.board.size();
+        int i = 0;
+        for (int r = 0; r <= 2 * size; r++) {
+            int p = this.rowStarts[r];
+            int length = HexagonLayout.rowLength(size, r);
+            for (int c = 0; c < length; c++) {
+                byte state = this.board.get(i);
+                if (state < 0 || state >= this.states) {
+                    throw new RuntimeException("Cell " + i + " has value " + state + ", but the states are 0 to " + (this.states - 1));
+                } else {}
+                this.current[p + c] = state;
+                i += 1;
+            }
+        }
+    }
+
+    /**
+     * Copy the states that changed from the current buffer back to the board.
+     */
+    private void store() {
+        int size = this.board.size();
+        int i = 0;
+        for (int r = 0; r <= 2 * size; r++) {
+            int p = this.rowStarts[r];
+            int length = HexagonLayout.rowLength(size, r);
+            for (int c = 0; c < length; c++) {
+                if (this.board.get(i) != this.current[p + c]) {
+                    this.board.set(i, this.current[p + c]);
+                } else {}
+                i += 1;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonAutomaton.java");
+        int uErrors = 0; // unintentional errors
+
+        // a spread rule: an empty cell catches from 2 or more live neighbours, a caught cell recovers,
+        // and a recovered cell becomes empty again once none of its neighbours are live
+        HexagonRule spread = (state, live) -> state == 0 ? (live >= 2 ? 1 : 0) : state == 1 ? 2 : (live == 0 ? 0 : 2);
+
+        // test a rule that gives a state that does not exist
+        try {
+            new HexagonAutomaton(new ByteHexagonBoard(2), 2, spread);
+            System.out.println("Error: HexagonAutomaton() constructor did not throw an exception for a rule that gives state 2 of 2");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("HexagonAutomaton() constructor correctly caught exception for invalid input.");
+        }
+
+        // test random boards against stepping every cell with neighbours(), on the calling thread and with a pool
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Random random = new Random(24);
+            int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+            for (int size : new int[] {0, 1, 2, 5, 74, 100}) {
+                ByteHexagonBoard expected = new ByteHexagonBoard(size);
+                ByteHexagonBoard alone = new ByteHexagonBoard(size);
+                ByteHexagonBoard tiled = new ByteHexagonBoard(size);
+                for (int i = 0; i < expected.cellCount(); i++) {
+                    byte state = (byte) (random.nextInt(4) == 0 ? 1 : 0);
+                    expected.set(i, state);
+                    alone.set(i, state);
+                    tiled.set(i, state);
+                }
+                HexagonAutomaton aloneAutomaton = new HexagonAutomaton(alone, 3, spread);
+                HexagonAutomaton tiledAutomaton = new HexagonAutomaton(tiled, 3, spread, pool);
+                byte[] after = new byte[expected.cellCount()];
+                for (int g = 0; g < 6; g++) {
+                    for (int i = 0; i < expected.cellCount(); i++) {
+                        int count = expected.neighbours(i, neighbours);
+                        int live = 0;
+                        for (int k = 0; k < count; k++) {
+                            live += expected.get(neighbours[k]) != 0 ? 1 : 0;
+                        }
+                        after[i] = (byte) spread.next(expected.get(i), live);
+                    }
+                    for (int i = 0; i < expected.cellCount(); i++) {
+                        expected.set(i, after[i]);
+                    }
+                }
+                aloneAutomaton.step(6);
+                for (int g = 0; g < 6; g++) {
+                    tiledAutomaton.step();
+                }
+                boolean same = aloneAutomaton.generation() == 6 && tiledAutomaton.generation() == 6;
+                for (int i = 0; i < expected.cellCount(); i++) {
+                    same = same && alone.get(i) == expected.get(i) && tiled.get(i) == expected.get(i);
+                }
+                if (!same) {
+                    System.out.println("Error: 6 generations of a board of size " + size + " did not match stepping every cell");
+                    uErrors += 1;
+                } else {}
+            }
+
+            // test that only the cells that changed are marked as changed
+            ByteHexagonBoard board = new ByteHexagonBoard(3);
+            board.set(board.index(3, 2), (byte) 1);
+            board.set(board.index(3, 4), (byte) 1);
+            board.trackChanges();
+            board.changes().clear();
+            new HexagonAutomaton(board, 3, spread).step();
+            // the two live cells recover, and the centre, the only cell next to both of them, catches
+            if (board.changes().count() != 3 || board.get(board.index(3, 2)) != 2 || board.centreNodeItem() != 1
+                    || board.get(board.index(2, 2)) != 0) {
+                System.out.println("Error: one generation of two live cells should change 3 cells");
+                uErrors += 1;
+            } else {}
+        }
+        catch (Exception e) {
+            System.out.println("Error: HexagonAutomaton method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        pool.shutdown();
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,455 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonBitboard is a board like ByteHexagonBoard for small boards where every cell is empty or holds a stone
+ * of one of a few players, and the stones of each player are kept as the bits of a long array.
+ * Cell values are 0 for an empty cell and 1 up to players() for a stone.
+ *
+ * The bits are laid out in axial coordinates (see HexagonCoordinates.java): the cell at (q, r) is
+ * bit (r + size) * width + (q + size), where width = 2 * size + 2 leaves one unused column after every row.
+ * In this layout every direction is the same shift of the bit index for every cell:
+ *
+ *     up left -width, up right -width + 1, mid left -1, mid right +1, down left width - 1, down right +width
+ *
+ * So the neighbours of a whole set of cells are found with one masked shift of each word for each direction.
+ * The mask of a direction keeps only the cells that have a neighbour that way, so no bit ever moves onto
+ * the unused column or a corner outside the hexagon. Group, liberty and flood fill questions then cost
+ * a few bitwise operations for each of the words() words, instead of a step for every cell.
+ */
+public class HexagonBitboard extends AbstractFlatHexagonBoard {
+
+    /** The biggest board a HexagonBitboard can be, it has 31 rows of 32 bits. */
+    public static final int MAX_SIZE = 15;
+
+    // unlike HexagonTopology, the layouts are held strongly: there are at most MAX_SIZE + 1 of them,
+    // and the biggest is a few kilobytes of masks, so letting the garbage collector take them back would save nothing
+    private static final ConcurrentHashMap<Integer, BitLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final BitLayout layout;
+    private final long[][] stones; // the stones of each player, stones[p - 1] for player p
+    private final long[] next; // room for one set of cells, used while flood filling
+    private final long[] grown; // room for one set of cells, used while flood filling
+    private final long[] area; // room for one set of cells, used while counting liberties
+
+    /**
+     * The bit layout of a board of one size, shared by every HexagonBitboard of that size.
+     */
+    private static final class BitLayout {
+        private final int width; // the number of bits in every row
+        private final int words; // the number of longs in one set of cells
+        private final int[] bitOf; // the bit of each cell
+        private final int[] cellOf; // the cell of each bit, -1 for the bits that are not cells
+        private final long[] valid; // the bits that are cells
+        private final int[] shift; // how far each direction moves a bit
+        private final long[][] masks; // the cells that have a neighbour in each direction
+
+        private BitLayout(int sz) {
+            this.width = 2 * sz + 2;
+            int bits = (2 * sz + 1) * this.width;
+            this.words = (bits + 63) >>> 6;
+            int cells = HexagonLayout.cellCount(sz);
+            this.bitOf = new int[cells];
+            this.cellOf = new int[this.words * 64];
+            Arrays.fill(this.cellOf, -1);
+            this.valid = new long[this.words];
+            this.shift = new int[HexagonLayout.DIRECTIONS];
+            this.masks = new long[HexagonLayout.DIRECTIONS][this.words];
+            for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+                this.shift[d] = HexagonCoordinates.dq(d) + HexagonCoordinates.dr(d) * this.width;
+            }
+            for (int i = 0; i < cells; i++) {
+                int q = HexagonCoordinates.qOf(sz, i);
+                int r = HexagonCoordinates.rOf(sz, i);
+                int bit = (r + sz) * this.width + q + sz;
+                this.bitOf[i] = bit;
+                this.cellOf[bit] = i;
+                this.valid[bit >>> 6] |= 1L << bit;
+                for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+                    if (HexagonCoordinates.contains(sz, q + HexagonCoordinates.dq(d), r + HexagonCoordinates.dr(d))) {
+                        this.masks[d][bit >>> 6] |= 1L << bit;
+                    } else {}
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructor method for a new HexagonBitboard, every cell starts empty.
+     * @param sz the size of the HexagonBitboard
+     * @param players the number of players
+     * @precond 0 <= sz <= MAX_SIZE and players >= 1
+     */
+    public HexagonBitboard(int sz, int players) {
+        super(sz);
+        if (sz > MAX_SIZE) {
+            throw new RuntimeException("HexagonBitboard must have size at most " + MAX_SIZE);
+        }
+        else if (players < 1) {
+            throw new RuntimeException("HexagonBitboard must have at least 1 player");
+        } else {}
+        this.layout = LAYOUTS.computeIfAbsent(sz, BitLayout::new);
+        this.stones = new long[players][this.layout.words];
+        this.next = new long[this.layout.words];
+        this.grown = new long[this.layout.words];
+        this.area = new long[this.layout.words];
+    }
+
+    /**
+     * @return the number of players
+     */
+    public int players() {
+        return this.stones.length;
+    }
+
+    /**
+     * @return the number of longs in one set of cells, every set given to or returned by this board has this length
+     */
+    public int words() {
+        return this.layout.words;
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the bit of cell i in a set of cells
+     * @precond 0 <= i < cellCount()
+     */
+    public int bit(int i) {
+        return this.layout.bitOf[i];
+    }
+
+    /**
+     * @param bit a bit of a set of cells
+     * @return the index of the cell of the bit in row-major order, or -1 if the bit is not a cell
+     * @precond 0 <= bit < 64 * words()
+     */
+    public int cell(int bit) {
+        return this.layout.cellOf[bit];
+    }
+
+    /**
+     * @param player a player from 1 to players()
+     * @return the stones of the player as a set of cells, this is the board's own array and must not be changed
+     */
+    public long[] stones(int player) {
+        if (player < 1 || player > this.stones.length) {
+            throw new RuntimeException("Player " + player + " is not between 1 and " + this.stones.length);
+        } else {}
+        return this.stones[player - 1];
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return 0 if cell i is empty, or the player whose stone is on it
+     * @precond 0 <= i < cellCount()
+     */
+    public int get(int i) {
+        int bit = this.layout.bitOf[i];
+        for (int p = 0; p < this.stones.length; p++) {
+            if ((this.stones[p][bit >>> 6] & (1L << bit)) != 0) {
+                return p + 1;
+            } else {}
+        }
+        return 0;
+    }
+
+    /**
+     * Empty cell i, or put a stone of a player on it.
+     * @param i the index of a cell in row-major order
+     * @param player 0 to empty the cell, or a player from 1 to players()
+     * @precond 0 <= i < cellCount()
+     */
+    public void set(int i, int player) {
+        if (player < 0 || player > this.stones.length) {
+            throw new RuntimeException("Player " + player + " is not between 0 and " + this.stones.length);
+        } else {}
+        int bit = this.layout.bitOf[i];
+        for (int p = 0; p < this.stones.length; p++) {
+            this.stones[p][bit >>> 6] &= ~(1L << bit);
+        }
+        if (player > 0) {
+            this.stones[player - 1][bit >>> 6] |= 1L << bit;
+        } else {}
+        this.changed(i);
+    }
+
+    /**
+     * @return 0 if the current cell is empty, or the player whose stone is on it
+     */
+    public int currentNodeItem() {
+        return this.get(this.index());
+    }
+
+    /**
+     * Empty the current cell, or put a stone of a player on it.
+     * @param player 0 to empty the cell, or a player from 1 to players()
+     */
+    public void setCurrentNodeItem(int player) {
+        this.set(this.index(), player);
+    }
+
+    /**
+     * Put the empty cells of the board into out.
+     * @param out where the set of cells is put, it must have words() longs
+     */
+    public void empty(long[] out) {
+        for (int w = 0; w < this.layout.words; w++) {
+            long taken = 0;
+            for (int p = 0; p < this.stones.length; p++) {
+                taken |= this.stones[p][w];
+            }
+            out[w] = this.layout.valid[w] & ~taken;
+        }
+    }
+
+    /**
+     * Put every cell that is next to a cell of in, and not in in itself, into out.
+     * @param in a set of cells
+     * @param out where the set of cells is put, it must have words() longs and must not be in
+     */
+    public void adjacent(long[] in, long[] out) {
+        Arrays.fill(out, 0);
+        for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+            this.orShifted(in, d, out);
+        }
+        for (int w = 0; w < this.layout.words; w++) {
+            out[w] &= ~in[w];
+        }
+    }
+
+    /**
+     * Add every cell of in, moved one step in direction d, to out.
+     * Only the cells of in that have a neighbour in direction d are moved.
+     */
+    private void orShifted(long[] in, int d, long[] out) {
+        long[] mask = this.layout.masks[d];
+        int shift = this.layout.shift[d];
+        int words = this.layout.words;
+        if (shift > 0) {
+            long carry = 0; // the bits of the word below that move up into this word
+            for (int w = 0; w < words; w++) {
+                long source = in[w] & mask[w];
+                out[w] |= (source << shift) | carry;
+                carry = source >>> (64 - shift);
+            }
+        }
+        else {
+            int s = -shift;
+            long carry = 0; // the bits of the word above that move down into this word
+            for (int w = words - 1; w >= 0; w--) {
+                long source = in[w] & mask[w];
+                out[w] |= (source >>> s) | carry;
+                carry = source << (64 - s);
+            }
+        }
+    }
+
+    /**
+     * Put every cell of within that can be reached from seed by moving only through cells of within into out,
+     * including the cells of seed that are in within.
+     * @param seed the set of cells to start from
+     * @param within the set of cells that can be moved through
+     * @param out where the set of cells is put, it must have words() longs and must not be seed or within
+     * @return the number of cells put into out
+     */
+    public int floodFill(long[] seed, long[] within, long[] out) {
+        int words = this.layout.words;
+        for (int w = 0; w < words; w++) {
+            out[w] = seed[w] & within[w];
+        }
+        boolean growing = true;
+        while (growing) {
+            this.adjacent(out, this.grown);
+            growing = false;
+            for (int w = 0; w < words; w++) {
+                long add = this.grown[w] & within[w];
+                if (add != 0) {
+                    out[w] |= add;
+                    growing = true;
+                } else {}
+            }
+        }
+        return count(out);
+    }
+
+    /**
+     * Put the group of cell i, which is every stone of the same player that is connected to cell i, into out.
+     * @param i the index of a cell in row-major order
+     * @param out where the set of cells is put, it must have words() longs
+     * @return the number of stones in the group, or 0 if cell i is empty
+     * @precond 0 <= i < cellCount()
+     */
+    public int group(int i, long[] out) {
+        int player = this.get(i);
+        if (player == 0) {
+            Arrays.fill(out, 0);
+            return 0;
+        } else {}
+        int bit = this.layout.bitOf[i];
+        Arrays.fill(this.next, 0);
+        this.next[bit >>> 6] = 1L << bit;
+        return this.floodFill(this.next, this.stones[player - 1], out);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the number of empty cells next to the group of cell i, or 0 if cell i is empty
+     * @precond 0 <= i < cellCount()
+     */
+    public int liberties(int i) {
+        if (this.group(i, this.area) == 0) {
+            return 0;
+        } else {}
+        this.adjacent(this.area, this.grown);
+        this.empty(this.next);
+        int libertyCount = 0;
+        for (int w = 0; w < this.layout.words; w++) {
+            libertyCount += Long.bitCount(this.grown[w] & this.next[w]);
+        }
+        return libertyCount;
+    }
+
+    /**
+     * Do action for the index of every cell of a set of cells, in row-major order.
+     * @param bits a set of cells
+     * @param action what to do with the index of each cell
+     */
+    public void forEachCell(long[] bits, IntConsumer action) {
+        for (int w = 0; w < this.layout.words; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                action.accept(this.layout.cellOf[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * @param bits a set of cells
+     * @return the number of cells in the set
+     */
+    public static int count(long[] bits) {
+        int total = 0;
+        for (long word : bits) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonBitboard.java");
+        int uErrors = 0; // unintentional errors
+
+        // test HexagonBitboard constructor with a board that is too big for the bits
+        try {
+            HexagonBitboard invalidBoard = new HexagonBitboard(MAX_SIZE + 1, 2);
+            System.out.println("Error: HexagonBitboard() constructor did not throw an exception for a board of size " + (MAX_SIZE + 1));
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("HexagonBitboard() constructor correctly caught exception for invalid input.");
+        }
+
+        try {
+            // test that the cells next to each single cell are its neighbours
+            for (int size = 0; size <= MAX_SIZE; size++) {
+                HexagonBitboard board = new HexagonBitboard(size, 2);
+                long[] one = new long[board.words()];
+                long[] out = new long[board.words()];
+                int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+                for (int i = 0; i < board.cellCount(); i++) {
+                    Arrays.fill(one, 0);
+                    one[board.bit(i) >>> 6] = 1L << board.bit(i);
+                    board.adjacent(one, out);
+                    int count = board.neighbours(i, neighbours);
+                    boolean same = count(out) == count && board.cell(board.bit(i)) == i;
+                    for (int k = 0; k < count; k++) {
+                        same = same && (out[board.bit(neighbours[k]) >>> 6] & (1L << board.bit(neighbours[k]))) != 0;
+                    }
+                    if (!same) {
+                        System.out.println("Error: adjacent() did not find the neighbours of cell " + i + " of a board of size " + size);
+                        uErrors += 1;
+                    } else {}
+                }
+            }
+
+            // test group() and liberties() on random positions against a breadth first search over the cells
+            Random random = new Random(23);
+            for (int size = 0; size <= 10; size++) {
+                HexagonBitboard board = new HexagonBitboard(size, 2);
+                int cells = board.cellCount();
+                long[] group = new long[board.words()];
+                int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+                int[] queue = new int[cells];
+                boolean[] inGroup = new boolean[cells];
+                boolean[] liberty = new boolean[cells];
+                for (int trial = 0; trial < 20; trial++) {
+                    for (int i = 0; i < cells; i++) {
+                        board.set(i, random.nextInt(3));
+                    }
+                    int start = random.nextInt(cells);
+                    int player = board.get(start);
+                    Arrays.fill(inGroup, false);
+                    Arrays.fill(liberty, false);
+                    int tail = 0;
+                    int libertyCount = 0;
+                    if (player != 0) {
+                        inGroup[start] = true;
+                        queue[tail++] = start;
+                    } else {}
+                    for (int head = 0; head < tail; head++) {
+                        int count = board.neighbours(queue[head], neighbours);
+                        for (int k = 0; k < count; k++) {
+                            int n = neighbours[k];
+                            if (board.get(n) == player && !inGroup[n]) {
+                                inGroup[n] = true;
+                                queue[tail++] = n;
+                            }
+                            else if (board.get(n) == 0 && !liberty[n]) {
+                                liberty[n] = true;
+                                libertyCount += 1;
+                            } else {}
+                        }
+                    }
+                    int found = board.group(start, group);
+                    boolean same = found == tail;
+                    for (int k = 0; k < tail; k++) {
+                        same = same && (group[board.bit(queue[k]) >>> 6] & (1L << board.bit(queue[k]))) != 0;
+                    }
+                    if (!same || board.liberties(start) != libertyCount) {
+                        System.out.println("Error: the group of cell " + start + " of a board of size " + size + " should have "
+                                + tail + " stones and " + libertyCount + " liberties, but has " + found + " stones and "
+                                + board.liberties(start) + " liberties");
+                        uErrors += 1;
+                    } else {}
+                }
+            }
+
+            // test get(), set(), setCurrentNodeItem(), and forEachCell()
+            HexagonBitboard board = new HexagonBitboard(3, 2);
+            board.setCurrentNodeItem(2);
+            board.set(0, 1);
+            board.set(0, 2);
+            board.set(5, 1);
+            board.set(5, 0);
+            long[] total = new long[1];
+            board.forEachCell(board.stones(2), i -> total[0] += i + 1);
+            if (board.get(0) != 2 || board.currentNodeItem() != 2 || board.get(5) != 0 || count(board.stones(1)) != 0
+                    || total[0] != 1 + board.centreIndex() + 1) {
+                System.out.println("Error: get() did not return the players given to set()");
+                uErrors += 1;
+            } else {}
+        }
+        catch (Exception e) {
+            System.out.println("Error: HexagonBitboard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -1,3 +1,14 @@
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Code Written by Jackson L. Davis
  *
@@ -70,172 +81,167 @@ public class HexagonBoard<I> {
     private int size;
     private HexagonNode<I> centreNode; // the centre node of the HexagonBoard
 
+    private HexagonNode<I>[] nodes; // every node of the HexagonBoard, in row-major order (see HexagonLayout.java)
+    private HexagonTopology topology; // shared by every board of this size, null until neighbours are first needed
+
     private HexagonNode<I> currentNode; // this is like a cursor that is on a node
     // indexes that will make locating the current node easier for printing
     private int row;
     private int col;
 
+    private HexagonDirtyCells changes; // the nodes that changed since the board was last drawn, null if not tracked
+
     /**
      * Constructor method for a new HexagonBoard,
      * this method sets up all HexagonNodes and their connections to neighbouring nodes.
+     * The nodes are made one row at a time from the top row to the bottom row,
+     * so each node is visited once and the cost is proportional to the number of nodes.
      * @param sz the size of the HexagonBoard
-     * @precond sz >= 0
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE
      */
     public HexagonBoard(int sz) {
+        this(sz, null);
+    }
+
+    /**
+     * Constructor method for a new HexagonBoard that is made by the threads of a ForkJoinPool.
+     * The rows are split into bands and each band is made by one task, first every node is made,
+     * then each row is connected to itself and to the row below it.
+     * A row only changes the up connections of the row below it, so no two tasks change the same node,
+     * and the board is exactly the same as a board made by HexagonBoard(sz).
+     * @param sz the size of the HexagonBoard
+     * @param pool the threads that make the board, or null to make it on this thread
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE
+     */
+    @SuppressWarnings("unchecked")
+    public HexagonBoard(int sz, ForkJoinPool pool) {
         if (sz < 0) {
             throw new RuntimeException("HexagonBoard must have size at least 0");
         }
+        else if (sz > HexagonLayout.MAX_SIZE) {
+            // the cells of a bigger board cannot be counted in an int
+            throw new RuntimeException("HexagonBoard must have size at most " + HexagonLayout.MAX_SIZE);
+        }
         else {
             this.size = sz;
-            this.centreNode = new HexagonNode<I>();
-            this.currentNode = this.centreNode; // cursor starts on the centre node
+            this.nodes = (HexagonNode<I>[]) new HexagonNode<?>[HexagonLayout.cellCount(sz)];
+            if (pool == null || this.nodes.length <= PARALLEL_CELLS) {
+                this.makeRows(0, 2 * this.size + 1);
+                this.linkRows(0, 2 * this.size + 1);
+            }
+            else {
+                pool.invoke(new RowBand(0, 2 * this.size + 1, false));
+                pool.invoke(new RowBand(0, 2 * this.size + 1, true));
+            }
 
-            // make each layer of the HexagonBoard
-            for (int i = 1; i <= this.size; i++) {
+            this.centreNode = this.nodes[this.nodes.length / 2];
+            this.currentNode = this.centreNode; // cursor starts on the centre node
 
-                // set up upRight corner node
-                for (int c = 1; c < i; c++) {
-                    this.currentNode = this.currentNode.nextUpRight();
-                }
-                this.currentNode.setNextUpRight(new HexagonNode<>());
-                this.currentNode.nextUpRight().setNextDownLeft(this.currentNode);
-                this.currentNode = this.currentNode.nextUpRight();
-
-                // set up edge nodes between upRight and midRight corners
-                for (int e = 1; e < i; e++) {
-                    this.currentNode.setNextDownRight(new HexagonNode<>());
-                    this.currentNode.nextDownRight().setNextUpLeft(this.currentNode);
-                    this.currentNode.nextDownLeft().setNextMidRight(this.currentNode.nextDownRight());
-                    this.currentNode.nextDownRight().setNextMidLeft(this.currentNode.nextDownLeft());
-                    this.currentNode.nextDownLeft().nextDownRight().setNextUpRight(this.currentNode.nextDownRight());
-                    this.currentNode.nextDownRight().setNextDownLeft(this.currentNode.nextDownLeft().nextDownRight());
-                    this.currentNode = this.currentNode.nextDownRight();
-                }
+            // set up row and column
+            this.row = this.size;
+            this.col = this.size;
+        }
+    }
 
-                // set up midRight corner node
-                this.currentNode = this.centreNode;
-                for (int c = 1; c < i; c++) {
-                    this.currentNode = this.currentNode.nextMidRight();
-                }
-                this.currentNode.setNextMidRight(new HexagonNode<>());
-                this.currentNode.nextMidRight().setNextMidLeft(this.currentNode);
-                this.currentNode.nextUpRight().setNextDownRight(this.currentNode.nextMidRight());
-                this.currentNode.nextMidRight().setNextUpLeft(this.currentNode.nextUpRight());
-                this.currentNode = this.currentNode.nextMidRight();
-
-                // set up edge nodes between midRight and downRight corners
-                for (int e = 1; e < i; e++) {
-                    this.currentNode.setNextDownLeft(new HexagonNode<>());
-                    this.currentNode.nextDownLeft().setNextUpRight(this.currentNode);
-                    this.currentNode.nextMidLeft().setNextDownRight(this.currentNode.nextDownLeft());
-                    this.currentNode.nextDownLeft().setNextUpLeft(this.currentNode.nextMidLeft());
-                    this.currentNode.nextMidLeft().nextDownLeft().setNextMidRight(this.currentNode.nextDownLeft());
-                    this.currentNode.nextDownLeft().setNextMidLeft(this.currentNode.nextMidLeft().nextDownLeft());
-                    this.currentNode = this.currentNode.nextDownLeft();
-                }
+    /** A band of rows with at most this many nodes is made by one task instead of being split again. */
+    static final int PARALLEL_CELLS = 1 << 13;
 
-                // set up downRight corner node
-                this.currentNode = this.centreNode;
-                for (int c = 1; c < i; c++) {
-                    this.currentNode = this.currentNode.nextDownRight();
-                }
-                this.currentNode.setNextDownRight(new HexagonNode<>());
-                this.currentNode.nextDownRight().setNextUpLeft(this.currentNode);
-                this.currentNode.nextMidRight().setNextDownLeft(this.currentNode.nextDownRight());
-                this.currentNode.nextDownRight().setNextUpRight(this.currentNode.nextMidRight());
-                this.currentNode = this.currentNode.nextDownRight();
-
-                // set up edge nodes between downRight and downLeft corners
-                for (int e = 1; e < i; e++) {
-                    this.currentNode.setNextMidLeft(new HexagonNode<>());
-                    this.currentNode.nextMidLeft().setNextMidRight(this.currentNode);
-                    this.currentNode.nextUpLeft().setNextDownLeft(this.currentNode.nextMidLeft());
-                    this.currentNode.nextMidLeft().setNextUpRight(this.currentNode.nextUpLeft());
-                    this.currentNode.nextUpLeft().nextMidLeft().setNextDownRight(this.currentNode.nextMidLeft());
-                    this.currentNode.nextMidLeft().setNextUpLeft(this.currentNode.nextUpLeft().nextMidLeft());
-                    this.currentNode = this.currentNode.nextMidLeft();
-                }
+    /**
+     * RowBand makes or connects the nodes of the rows from first up to but not including last,
+     * splitting the rows in half until each band is small enough to do on one thread.
+     */
+    private final class RowBand extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
 
-                // set up downLeft corner node
-                this.currentNode = this.centreNode;
-                for (int c = 1; c < i; c++) {
-                    this.currentNode = this.currentNode.nextDownLeft();
-                }
-                this.currentNode.setNextDownLeft(new HexagonNode<>());
-                this.currentNode.nextDownLeft().setNextUpRight(this.currentNode);
-                this.currentNode.nextDownRight().setNextMidLeft(this.currentNode.nextDownLeft());
-                this.currentNode.nextDownLeft().setNextMidRight(this.currentNode.nextDownRight());
-                this.currentNode = this.currentNode.nextDownLeft();
-
-                // set up edge nodes between downLeft and midLeft corners
-                for (int e = 1; e < i; e++) {
-                    this.currentNode.setNextUpLeft(new HexagonNode<>());
-                    this.currentNode.nextUpLeft().setNextDownRight(this.currentNode);
-                    this.currentNode.nextUpRight().setNextMidLeft(this.currentNode.nextUpLeft());
-                    this.currentNode.nextUpLeft().setNextMidRight(this.currentNode.nextUpRight());
-                    this.currentNode.nextUpRight().nextUpLeft().setNextDownLeft(this.currentNode.nextUpLeft());
-                    this.currentNode.nextUpLeft().setNextUpRight(this.currentNode.nextUpRight().nextUpLeft());
-                    this.currentNode = this.currentNode.nextUpLeft();
-                }
+        private final int first;
+        private final int last;
+        private final boolean link; // true to connect the nodes, false to make them
 
-                // set up midLeft corner node
-                this.currentNode = this.centreNode;
-                for (int c = 1; c < i; c++) {
-                    this.currentNode = this.currentNode.nextMidLeft();
-                }
-                this.currentNode.setNextMidLeft(new HexagonNode<>());
-                this.currentNode.nextMidLeft().setNextMidRight(this.currentNode);
-                this.currentNode.nextDownLeft().setNextUpLeft(this.currentNode.nextMidLeft());
-                this.currentNode.nextMidLeft().setNextDownRight(this.currentNode.nextDownLeft());
-                this.currentNode = this.currentNode.nextMidLeft();
-
-                // set up edge nodes between midLeft and upLeft corners
-                for (int e = 1; e < i; e++) {
-                    this.currentNode.setNextUpRight(new HexagonNode<>());
-                    this.currentNode.nextUpRight().setNextDownLeft(this.currentNode);
-                    this.currentNode.nextMidRight().setNextUpLeft(this.currentNode.nextUpRight());
-                    this.currentNode.nextUpRight().setNextDownRight(this.currentNode.nextMidRight());
-                    this.currentNode.nextMidRight().nextUpRight().setNextMidLeft(this.currentNode.nextUpRight());
-                    this.currentNode.nextUpRight().setNextMidRight(this.currentNode.nextMidRight().nextUpRight());
-                    this.currentNode = this.currentNode.nextUpRight();
-                }
+        RowBand(int first, int last, boolean link) {
+            this.first = first;
+            this.last = last;
+            this.link = link;
+        }
 
-                // set up upLeft corner node
-                this.currentNode = this.centreNode;
-                for (int c = 1; c < i; c++) {
-                    this.currentNode = this.currentNode.nextUpLeft();
+        @Override
+        protected void compute() {
+            int cells = HexagonLayout.rowStart(HexagonBoard.this.size, this.last)
+                    - HexagonLayout.rowStart(HexagonBoard.this.size, this.first);
+            if (this.last - this.first == 1 || cells <= PARALLEL_CELLS) {
+                if (this.link) {
+                    HexagonBoard.this.linkRows(this.first, this.last);
                 }
-                this.currentNode.setNextUpLeft(new HexagonNode<>());
-                this.currentNode.nextUpLeft().setNextDownRight(this.currentNode);
-                this.currentNode.nextMidLeft().setNextUpRight(this.currentNode.nextUpLeft());
-                this.currentNode.nextUpLeft().setNextDownLeft(this.currentNode.nextMidLeft());
-                this.currentNode = this.currentNode.nextUpLeft();
-
-                // set up edge nodes between upLeft and upRight corners
-                for (int e = 1; e < i; e++) {
-                    this.currentNode.setNextMidRight(new HexagonNode<>());
-                    this.currentNode.nextMidRight().setNextMidLeft(this.currentNode);
-                    this.currentNode.nextDownRight().setNextUpRight(this.currentNode.nextMidRight());
-                    this.currentNode.nextMidRight().setNextDownLeft(this.currentNode.nextDownRight());
-                    this.currentNode.nextDownRight().nextMidRight().setNextUpLeft(this.currentNode.nextMidRight());
-                    this.currentNode.nextMidRight().setNextDownRight(this.currentNode.nextDownRight().nextMidRight());
-                    this.currentNode = this.currentNode.nextMidRight();
+                else {
+                    HexagonBoard.this.makeRows(this.first, this.last);
                 }
+            }
+            else {
+                int middle = (this.first + this.last) >>> 1;
+                invokeAll(new RowBand(this.first, middle, this.link), new RowBand(middle, this.last, this.link));
+            }
+        }
+    }
 
-                // set up last connection between upRight corner and last edge between upLeft and upRight corners
-                this.currentNode.setNextMidRight(this.currentNode.nextDownRight().nextUpRight());
-                this.currentNode.nextDownRight().nextUpRight().setNextMidLeft(this.currentNode);
+    /**
+     * Make a new HexagonNode for every cell in the rows from first up to but not including last.
+     */
+    private void makeRows(int first, int last) {
+        int from = HexagonLayout.rowStart(this.size, first);
+        int to = HexagonLayout.rowStart(this.size, last);
+        for (int i = from; i < to; i++) {
+            this.nodes[i] = new HexagonNode<>();
+        }
+    }
 
-                // reset current node to centre node
-                this.currentNode = this.centreNode;
+    /**
+     * Connect each row from first up to but not including last to itself and to the row below it.
+     * Only the nodes of those rows and the up connections of the row below them are changed.
+     */
+    private void linkRows(int first, int last) {
+        int rowStart = HexagonLayout.rowStart(this.size, first);
+        for (int r = first; r < last; r++) {
+            int length = HexagonLayout.rowLength(this.size, r);
+            int below = rowStart + length; // index of the first node in the row below
+            for (int c = 0; c < length; c++) {
+                HexagonNode<I> node = this.nodes[rowStart + c];
+
+                // set up the mid right and mid left connections
+                if (c < length - 1) {
+                    node.setNextMidRight(this.nodes[rowStart + c + 1]);
+                    this.nodes[rowStart + c + 1].setNextMidLeft(node);
+                } else {}
+
+                // set up the down left and down right connections,
+                // in the top half the row below is one node longer, otherwise it is one node shorter
+                if (r < this.size) {
+                    this.link(node, this.nodes[below + c], this.nodes[below + c + 1]);
+                }
+                else if (r < 2 * this.size) {
+                    this.link(node, c > 0 ? this.nodes[below + c - 1] : null,
+                            c < length - 1 ? this.nodes[below + c] : null);
+                } else {}
             }
-
-            // set up row and column
-            this.row = this.size;
-            this.col = this.size;
+            rowStart = below;
         }
     }
 
+    /**
+     * Connect a node to the nodes below it, and connect those nodes back up to it.
+     * @param node the node in the upper row
+     * @param downLeft the node below and to the left of node, or null if there is none
+     * @param downRight the node below and to the right of node, or null if there is none
+     */
+    private void link(HexagonNode<I> node, HexagonNode<I> downLeft, HexagonNode<I> downRight) {
+        if (downLeft != null) {
+            node.setNextDownLeft(downLeft);
+            downLeft.setNextUpRight(node);
+        } else {}
+        if (downRight != null) {
+            node.setNextDownRight(downRight);
+            downRight.setNextUpLeft(node);
+        } else {}
+    }
+
     /**
      * @return the size of the HexagonBoard
      */
@@ -243,6 +249,18 @@ public class HexagonBoard<I> {
         return this.size;
     }
 
+    /**
+     * @return the neighbour table shared by every board of this size, or null if the board is bigger than
+     *         HexagonTopology.MAX_CACHED_SIZE. The table is only looked up the first time it is needed,
+     *         so boards that never ask for neighbours do not keep one in memory.
+     */
+    public HexagonTopology topology() {
+        if (this.topology == null) {
+            this.topology = HexagonTopology.ofOrNull(this.size);
+        } else {}
+        return this.topology;
+    }
+
     /**
      * @return the centre node on the board
      */
@@ -263,6 +281,7 @@ public class HexagonBoard<I> {
      */
     public void setCentreNodeItem(I x) {
         this.centreNode.setItem(x);
+        this.changed(this.nodes.length / 2);
     }
 
     /**
@@ -285,6 +304,7 @@ public class HexagonBoard<I> {
      */
     public void setCurrentNodeItem(I x) {
         this.currentNode.setItem(x);
+        this.cursorChanged();
     }
 
     /**
@@ -301,13 +321,185 @@ public class HexagonBoard<I> {
         return this.col;
     }
 
+    /**
+     * @param r the row index of a node
+     * @param c the column index of a node
+     * @return the node at row r and column c, the cursor does not move
+     * @precond r and c are a row and column on the board (see the top of this file)
+     */
+    public HexagonNode<I> node(int r, int c) {
+        if (!HexagonLayout.contains(this.size, r, c)) {
+            throw new RuntimeException("HexagonBoard has no node at row " + r + ", column " + c);
+        }
+        else {
+            return this.nodes[HexagonLayout.index(this.size, r, c)];
+        }
+    }
+
+    /**
+     * @param r the row index of a node
+     * @param c the column index of a node
+     * @return the item stored in the node at row r and column c
+     * @precond r and c are a row and column on the board (see the top of this file)
+     */
+    public I get(int r, int c) {
+        return this.node(r, c).item();
+    }
+
+    /**
+     * Set the item of the node at row r and column c equal to x, the cursor does not move.
+     * @param r the row index of a node
+     * @param c the column index of a node
+     * @param x the item to be placed in the node
+     * @precond r and c are a row and column on the board (see the top of this file)
+     */
+    public void set(int r, int c, I x) {
+        this.node(r, c).setItem(x);
+        this.changed(HexagonLayout.index(this.size, r, c));
+    }
+
+    /**
+     * @param i the index of a node in row-major order (see HexagonLayout.java)
+     * @return the item stored in node i
+     * @precond 0 <= i < number of nodes on the board
+     */
+    public I get(int i) {
+        return this.nodes[i].item();
+    }
+
+    /**
+     * Set the item of node i equal to x, the cursor does not move.
+     * @param i the index of a node in row-major order (see HexagonLayout.java)
+     * @param x the item to be placed in the node
+     * @precond 0 <= i < number of nodes on the board
+     */
+    public void set(int i, I x) {
+        this.nodes[i].setItem(x);
+        this.changed(i);
+    }
+
+    /**
+     * Put the index of every neighbour of node i into out, without making any objects.
+     * The neighbours are in the order up left, up right, mid left, mid right, down left, down right,
+     * skipping the ones that are not on the board.
+     * @param i the index of a node in row-major order (see HexagonLayout.java)
+     * @param out where the indexes of the neighbours are put, it must have room for 6
+     * @return the number of neighbours put into out
+     * @precond 0 <= i < number of nodes on the board
+     */
+    public int neighbours(int i, int[] out) {
+        HexagonTopology table = this.topology();
+        if (table != null) {
+            return table.neighbours(i, out);
+        }
+        else {
+            return HexagonLayout.neighbours(this.size, i, out);
+        }
+    }
+
+    /**
+     * Give the index of every neighbour of node i to action, in the same order as neighbours(), without making any objects.
+     * @param i the index of a node in row-major order (see HexagonLayout.java)
+     * @param action what to do with the index of each neighbour
+     * @precond 0 <= i < number of nodes on the board
+     */
+    public void forEachNeighbour(int i, IntConsumer action) {
+        HexagonTopology table = this.topology();
+        if (table != null) {
+            table.forEachNeighbour(i, action);
+        }
+        else {
+            HexagonLayout.forEachNeighbour(this.size, i, action);
+        }
+    }
+
+    /**
+     * @param i the index of a node in row-major order
+     * @param k the ring, 0 for just node i
+     * @return an iterator over the nodes that are k moves away from node i, clockwise from the up left corner of the ring
+     * @precond 0 <= i < number of nodes on the board and k >= 0
+     */
+    public PrimitiveIterator.OfInt ring(int i, int k) {
+        return HexagonRingIterator.ring(this.size, i, k);
+    }
+
+    /**
+     * @param i the index of a node in row-major order
+     * @param radius the last ring of the spiral
+     * @return an iterator over the nodes that are at most radius moves away from node i, nearest ring first
+     * @precond 0 <= i < number of nodes on the board and radius >= 0
+     */
+    public PrimitiveIterator.OfInt spiral(int i, int radius) {
+        return HexagonRingIterator.spiral(this.size, i, radius);
+    }
+
+    /**
+     * @param a the index of a node in row-major order
+     * @param b the index of another node in row-major order
+     * @return the number of moves between node a and node b, worked out from their axial coordinates
+     * @precond 0 <= a, b < number of nodes on the board
+     */
+    public int distance(int a, int b) {
+        return HexagonCoordinates.distance(this.size, a, b);
+    }
+
+    /**
+     * Put the nodes on the straight line from node a to node b into out, in order from a to b (see HexagonLines.java).
+     * @param a the index of the first node in row-major order
+     * @param b the index of the last node in row-major order
+     * @param out where the nodes of the line are put, it must have room for distance(a, b) + 1 nodes
+     * @return the number of nodes put into out
+     * @precond 0 <= a, b < number of nodes on the board
+     */
+    public int line(int a, int b, int[] out) {
+        return HexagonLines.line(this.size, a, b, out);
+    }
+
+    /**
+     * Check which of the targets can be seen from the source, a target can be seen
+     * if no node on the line between them is blocked (see HexagonLines.java).
+     * @param source the index of the node that is looking
+     * @param targets the indexes of the nodes that are looked at
+     * @param count the number of targets
+     * @param blocked true for the nodes that cannot be seen through
+     * @param visible where the answer for each target is put
+     * @return the number of targets that can be seen
+     * @precond source and every target are nodes on the board
+     */
+    public int lineOfSight(int source, int[] targets, int count, IntPredicate blocked, boolean[] visible) {
+        return HexagonLines.lineOfSight(this.size, source, targets, count, blocked, visible);
+    }
+
+    /**
+     * @return a Spliterator over the index of every node in row-major order, it splits at the start of a row
+     */
+    public Spliterator.OfInt cells() {
+        return new HexagonCellSpliterator(this.size);
+    }
+
+    /**
+     * @return a sequential stream of the index of every node in row-major order, call parallel() on it for a parallel stream
+     */
+    public IntStream cellStream() {
+        return StreamSupport.intStream(this.cells(), false);
+    }
+
+    /**
+     * @return a sequential stream of the item of every node in row-major order, call parallel() on it for a parallel stream
+     */
+    public Stream<I> items() {
+        return this.cellStream().mapToObj(this::get);
+    }
+
     /**
      * Set the current node to the centre node.
      */
     public void goCentre() {
+        this.cursorChanged();
         this.currentNode = this.centreNode;
         this.row = this.size;
         this.col = this.size;
+        this.changed(this.nodes.length / 2);
     }
 
     /**
@@ -341,11 +533,13 @@ public class HexagonBoard<I> {
      */
     public boolean goUpLeft() {
         if (this.hasUpLeft()) {
+            this.cursorChanged();
             this.currentNode = this.currentNode.nextUpLeft();
             if (this.row <= this.size) {
                 this.col -= 1;
             } else {}
             this.row -= 1;
+            this.cursorChanged();
             return true;
         }
         else {
@@ -354,11 +548,13 @@ public class HexagonBoard<I> {
     }
     public boolean goUpRight() {
         if (this.hasUpRight()) {
+            this.cursorChanged();
             this.currentNode = this.currentNode.nextUpRight();
             if (this.row > this.size) {
                 this.col += 1;
             } else {}
             this.row -= 1;
+            this.cursorChanged();
             return true;
         }
         else {
@@ -367,8 +563,10 @@ public class HexagonBoard<I> {
     }
     public boolean goMidLeft() {
         if (this.hasMidLeft()) {
+            this.cursorChanged();
             this.currentNode = this.currentNode.nextMidLeft();
             this.col -= 1;
+            this.cursorChanged();
             return true;
         }
         else {
@@ -377,8 +575,10 @@ public class HexagonBoard<I> {
     }
     public boolean goMidRight() {
         if (this.hasMidRight()) {
+            this.cursorChanged();
             this.currentNode = this.currentNode.nextMidRight();
             this.col += 1;
+            this.cursorChanged();
             return true;
         }
         else {
@@ -387,11 +587,13 @@ public class HexagonBoard<I> {
     }
     public boolean goDownLeft() {
         if (this.hasDownLeft()) {
+            this.cursorChanged();
             this.currentNode = this.currentNode.nextDownLeft();
             if (this.row >= this.size) {
                 this.col -= 1;
             } else {}
             this.row += 1;
+            this.cursorChanged();
             return true;
         }
         else {
@@ -400,11 +602,13 @@ public class HexagonBoard<I> {
     }
     public boolean goDownRight() {
         if (this.hasDownRight()) {
+            this.cursorChanged();
             this.currentNode = this.currentNode.nextDownRight();
             if (this.row < this.size) {
                 this.col += 1;
             }
             this.row += 1;
+            this.cursorChanged();
             return true;
         }
         else {
@@ -412,109 +616,91 @@ public class HexagonBoard<I> {
         }
     }
 
+    /**
+     * Start remembering which nodes change, so that renderChanges() can draw only those nodes.
+     * Only changes made through the HexagonBoard are remembered, not changes made with HexagonNode.setItem().
+     */
+    public void trackChanges() {
+        if (this.changes == null) {
+            this.changes = new HexagonDirtyCells(this.size);
+        } else {}
+    }
+
+    /**
+     * @return the nodes that changed since the board was last drawn, or null if trackChanges() was not called
+     */
+    public HexagonDirtyCells changes() {
+        return this.changes;
+    }
+
+    /**
+     * Remember that the current node changed, if changes are tracked.
+     */
+    private void cursorChanged() {
+        if (this.changes != null) {
+            this.changes.mark(HexagonLayout.index(this.size, this.row, this.col));
+        } else {}
+    }
+
+    /**
+     * Remember that node i changed, if changes are tracked.
+     */
+    private void changed(int i) {
+        if (this.changes != null) {
+            this.changes.mark(i);
+        } else {}
+    }
+
+    /**
+     * Write the picture of the HexagonBoard to out, the current node is marked with a * instead of an O.
+     * @param out where the picture is written, such as a Writer or a StringBuilder
+     * @throws IOException if out cannot be written to
+     */
+    public void render(Appendable out) throws IOException {
+        this.render(out, null);
+    }
+
+    /**
+     * Write the picture of the HexagonBoard to out, the current node is marked with a * and every other node is drawn with glyphs.
+     * If changes are tracked, every node is clean afterwards.
+     * @param out where the picture is written, such as a Writer or a StringBuilder
+     * @param glyphs the character for each node, by index in row-major order, or null to draw every node as an O
+     * @throws IOException if out cannot be written to
+     */
+    public void render(Appendable out, HexagonGlyphs glyphs) throws IOException {
+        HexagonBoardRenderer.render(this.size, this.row, this.col, glyphs, out);
+        if (this.changes != null) {
+            this.changes.clear();
+        } else {}
+    }
+
+    /**
+     * Write ANSI escape sequences to out that redraw only the nodes that changed since the board was last drawn.
+     * @param out where the escape sequences are written, such as the Writer of a terminal
+     * @param glyphs the character for each node, by index in row-major order, or null to draw every node as an O
+     * @throws IOException if out cannot be written to
+     * @precond trackChanges() was called and the board was drawn with render() since then
+     */
+    public void renderChanges(Appendable out, HexagonGlyphs glyphs) throws IOException {
+        if (this.changes == null) {
+            throw new RuntimeException("Call trackChanges() before renderChanges()");
+        } else {}
+        this.changes.render(HexagonLayout.index(this.size, this.row, this.col), glyphs, out);
+    }
+
     /**
      * @return string representation of the HexagonBoard, the current node is marked with a * instead of an O
      */
     public String toString() {
-        String result = "";
-        if (size == 0) {
-            result += "*\n";
-        }
-        else {
-            for (int i = 0; i <= (2 * this.size); i++) {
-                if (i < this.size) {
-                    // top half of the board
-                    // add spaces before O - O - O
-                    for (int s = 0; s < (2 * (this.size - i)); s++) {
-                        result += " ";
-                    }
-                    // add O - O - O
-                    for (int j = 0; j <= (this.size + i); j++) {
-                        if (i != this.row || j != this.col) {
-                            result += "O";
-                        }
-                        else {
-                            result += "*";
-                        }
-                        if (j < (this.size + i)) {
-                            result += " - ";
-                        }
-                        else {
-                            result += "\n";
-                        }
-                    }
-                    // add spaces before / \ / \ / \
-                    for (int t = 0; t < (2 * (this.size - i) - 1); t++) {
-                        result += " ";
-                    }
-                    // add / \ / \ / \
-                    for (int k = 0; k <= (this.size + i); k++) {
-                        result += "/ \\";
-                        if (k < (this.size + i)) {
-                            result += " ";
-                        }
-                        else {
-                            result += "\n";
-                        }
-                    }
-                }
-                else if (i == this.size) {
-                    // middle row of the board
-                    // add O - O - O
-                    for (int j = 0; j <= (this.size + i); j++) {
-                        if (i != this.row || j != this.col) {
-                            result += "O";
-                        }
-                        else {
-                            result += "*";
-                        }
-                        if (j < (this.size + i)) {
-                            result += " - ";
-                        }
-                        else {
-                            result += "\n";
-                        }
-                    }
-                }
-                else {
-                    // bottom half of the board
-                    // add spaces before \ / \ / \ /
-                    for (int t = 0; t < (2 * (i - this.size) - 1); t++) {
-                        result += " ";
-                    }
-                    // add \ / \ / \ /
-                    for (int k = 0; k <= (this.size + (2 * this.size - i)); k++) {
-                        result += "\\ /";
-                        if (k < (this.size + (2 * this.size - i))) {
-                            result += " ";
-                        }
-                        else {
-                            result += "\n";
-                        }
-                    }
-                    // add spaces before O - O - O
-                    for (int s = 0; s < (2 * (i - this.size)); s++) {
-                        result += " ";
-                    }
-                    // add O - O - O
-                    for (int j = 0; j <= (this.size + (2 * this.size - i)); j++) {
-                        if (i != this.row || j != this.col) {
-                            result += "O";
-                        }
-                        else {
-                            result += "*";
-                        }
-                        if (j < (this.size + (2 * this.size - i))) {
-                            result += " - ";
-                        }
-                        else {
-                            result += "\n";
-                        }
-                    }
-                }
-            }
-        }
-        return result;
+        return HexagonBoardRenderer.toString(this.size, this.row, this.col);
+    }
+
+    /**
+     * @param glyphs the character for each node, by index in row-major order
+     * @return string representation of the HexagonBoard, the current node is marked with a * and every other node is drawn with glyphs
+     */
+    public String toString(HexagonGlyphs glyphs) {
+        return HexagonBoardRenderer.toString(this.size, this.row, this.col, glyphs);
     }
 
     public static void main(String[] args) {
@@ -531,6 +717,26 @@ public class HexagonBoard<I> {
             System.out.println("HexagonBoard() constructor correctly caught exception for invalid input.");
         }
 
+        // test HexagonBoard constructor with a board too big to lay out, on its own thread and with a pool
+        try {
+            HexagonBoard<String> invalidBoard = new HexagonBoard<>(HexagonLayout.MAX_SIZE + 1);
+            System.out.println("Error: HexagonBoard() constructor did not throw an exception for a board of size "
+                    + (HexagonLayout.MAX_SIZE + 1));
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("HexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+        try {
+            HexagonBoard<String> invalidBoard = new HexagonBoard<>(Integer.MAX_VALUE, ForkJoinPool.commonPool());
+            System.out.println("Error: HexagonBoard() constructor did not throw an exception for a board of size "
+                    + Integer.MAX_VALUE);
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("HexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+
         // test HexagonBoard constructor with a board of size 0
         try {
             HexagonBoard<String> nothingBoard = new HexagonBoard<>(0);
@@ -1698,6 +1904,54 @@ public class HexagonBoard<I> {
                 System.out.println("Error: size() should return 5, but returned " + bigBoard.size());
                 uErrors += 1;
             } else {}
+
+            // test get() and set() against the nodes that the cursor walks to
+            bigBoard.set(0, 0, 1);
+            bigBoard.set(5, 10, 2);
+            bigBoard.set(10, 5, 3);
+            bigBoard.goUpLeft();
+            bigBoard.goUpLeft();
+            bigBoard.setCurrentNodeItem(4);
+            if (bigBoard.get(3, 3) != 4) {
+                System.out.println("Error: get(3, 3) should return 4, but returned " + bigBoard.get(3, 3));
+                uErrors += 1;
+            } else {}
+            if (bigBoard.row() != 3 || bigBoard.col() != 3) {
+                System.out.println("Error: get() moved the cursor");
+                uErrors += 1;
+            } else {}
+            bigBoard.goCentre();
+            for (int i = 0; i < 5; i++) {
+                bigBoard.goUpLeft();
+            }
+            if (bigBoard.currentNodeItem() != 1 || bigBoard.currentNode() != bigBoard.node(0, 0)) {
+                System.out.println("Error: set(0, 0, 1) did not change the top left node");
+                uErrors += 1;
+            } else {}
+            bigBoard.goCentre();
+            for (int i = 0; i < 5; i++) {
+                bigBoard.goMidRight();
+            }
+            if (bigBoard.currentNodeItem() != 2) {
+                System.out.println("Error: set(5, 10, 2) did not change the mid right corner node");
+                uErrors += 1;
+            } else {}
+            bigBoard.goCentre();
+            for (int i = 0; i < 5; i++) {
+                bigBoard.goDownRight();
+            }
+            if (bigBoard.currentNodeItem() != 3 || bigBoard.row() != 10 || bigBoard.col() != 5) {
+                System.out.println("Error: set(10, 5, 3) did not change the down right corner node");
+                uErrors += 1;
+            } else {}
+            try {
+                bigBoard.get(10, 6);
+                System.out.println("Error: get(10, 6) did not throw an exception for a node that is not on the board");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("get() correctly caught exception for invalid input.");
+            }
         }
         catch (Exception e) {
             System.out.println("Error: HexagonBoard() constructor or other HexagonBoard method threw an exception for a board of size 5.");
@@ -1705,6 +1959,86 @@ public class HexagonBoard<I> {
             uErrors += 1;
         }
 
+        // test trackChanges() and renderChanges()
+        try {
+            HexagonBoard<Integer> changeBoard = new HexagonBoard<>(3);
+            changeBoard.trackChanges();
+            changeBoard.render(new StringBuilder());
+            changeBoard.goUpLeft();
+            changeBoard.set(0, 0, 8);
+            changeBoard.setCurrentNodeItem(9);
+            if (changeBoard.changes().count() != 3 || !changeBoard.changes().isDirty(changeBoard.nodes.length / 2)
+                    || !changeBoard.changes().isDirty(0) || !changeBoard.changes().isDirty(HexagonLayout.index(3, 2, 2))) {
+                System.out.println("Error: changes() should have the centre node, the top left node, and node (2, 2)");
+                uErrors += 1;
+            } else {}
+            StringBuilder patches = new StringBuilder();
+            changeBoard.renderChanges(patches, null);
+            if (changeBoard.changes().count() != 0 || !patches.toString().contains("\u001b[5;11H*")) {
+                System.out.println("Error: renderChanges() did not redraw the current node at line 5, column 11");
+                uErrors += 1;
+            } else {}
+        }
+        catch (Exception e) {
+            System.out.println("Error: trackChanges() or renderChanges() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test that every node is connected to the nodes HexagonLayout says are its neighbours
+        try {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            int[] linkSizes = {0, 1, 2, 3, 4, 5, 6, 7, 8, 60, 61};
+            for (int t = 0; t < 2 * linkSizes.length; t++) {
+                int sz = linkSizes[t / 2];
+                // every size is made on this thread and by the pool, which splits the sizes bigger than PARALLEL_CELLS
+                HexagonBoard<Integer> linkBoard = t % 2 == 0 ? new HexagonBoard<>(sz) : new HexagonBoard<>(sz, pool);
+                for (int r = 0; r <= 2 * sz; r++) {
+                    for (int c = 0; c < HexagonLayout.rowLength(sz, r); c++) {
+                        HexagonNode<Integer> node = linkBoard.node(r, c);
+                        HexagonNode<?>[] next = {node.nextUpLeft(), node.nextUpRight(), node.nextMidLeft(),
+                                node.nextMidRight(), node.nextDownLeft(), node.nextDownRight()};
+                        int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+                        int count = linkBoard.neighbours(HexagonLayout.index(sz, r, c), neighbours);
+                        int k = 0;
+                        for (HexagonNode<?> n : next) {
+                            if (n != null && (k >= count || linkBoard.nodes[neighbours[k++]] != n)) {
+                                System.out.println("Error: neighbours() does not match the connections of the node at row "
+                                        + r + ", column " + c + " of a board of size " + sz);
+                                uErrors += 1;
+                            } else {}
+                        }
+                        for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+                            int n = HexagonLayout.neighbour(sz, r, c, d);
+                            if (next[d] != (n < 0 ? null : linkBoard.nodes[n])) {
+                                System.out.println("Error: node at row " + r + ", column " + c + " of a board of size "
+                                        + sz + " is not connected correctly in direction " + d);
+                                uErrors += 1;
+                            } else {}
+                        }
+                    }
+                }
+            }
+            pool.shutdown();
+        }
+        catch (Exception e) {
+            System.out.println("Error: HexagonBoard() constructor or other HexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test that a board only looks up its topology the first time it needs neighbours
+        HexagonBoard<Integer> lazyBoard = new HexagonBoard<>(4);
+        if (lazyBoard.topology != null) {
+            System.out.println("Error: the HexagonBoard constructor looked up a topology before it was needed");
+            uErrors += 1;
+        } else {}
+        lazyBoard.neighbours(0, new int[HexagonLayout.DIRECTIONS]);
+        if (lazyBoard.topology != HexagonTopology.of(4)) {
+            System.out.println("Error: neighbours() did not look up the shared topology");
+            uErrors += 1;
+        } else {}
+
         System.out.println("Testing complete with " + uErrors + " unintentional errors.");
     }
 }
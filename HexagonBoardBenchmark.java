@@ -0,0 +1,390 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonBoardBenchmark times how long it takes to make HexagonBoards.
+ * It compares the HexagonBoard constructor, which makes the board one row at a time,
+ * with the older way of making the board, which made each ring by walking out from the centre node to every corner.
+ *
+ * Run it with: java HexagonBoardBenchmark [largest size]
+ * The largest size defaults to 2000, give the JVM enough heap for it (for example -Xmx3g).
+ *
+ * It can also time making one big board with a ForkJoinPool of 1 thread, 2 threads, and so on:
+ * java HexagonBoardBenchmark parallel [size] [most threads]
+ * The size defaults to 2000 and the most threads defaults to the number of processors.
+ *
+ * It can also time how many cells a second a HexagonAutomaton steps, on the calling thread and with
+ * a ForkJoinPool of 1 thread, 2 threads, and so on:
+ * java HexagonBoardBenchmark automaton [size] [most threads] [generations]
+ * The size defaults to 500, the most threads to the number of processors and the generations to 200.
+ * The automaton uses HexagonKernels.best(), add -Dhexagon.kernels=scalar to time it with the scalar kernels.
+ *
+ * It can also compare the scalar HexagonKernels with HexagonKernels.best() on the buffer of one board:
+ * java --add-modules jdk.incubator.vector HexagonBoardBenchmark kernels [size]
+ * The size defaults to 500. Without the incubator module both columns are the scalar kernels (see README.md).
+ */
+public class HexagonBoardBenchmark {
+
+    /** The board sizes that are timed, up to the largest size. */
+    private static final int[] SIZES = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000};
+
+    /** Keeps the JIT from optimising the boards away. */
+    private static long sink;
+
+    /**
+     * Make the nodes of a board the way the HexagonBoard constructor used to,
+     * one ring at a time, walking from the centre node to each corner of the ring.
+     * @param size the size of the board
+     * @return the centre node of the board
+     */
+    static HexagonNode<Object> buildByRings(int size) {
+        HexagonNode<Object> centre = new HexagonNode<Object>();
+        HexagonNode<Object> current = centre;
+
+        // make each layer of the HexagonBoard
+        for (int i = 1; i <= size; i++) {
+
+            // set up upRight corner node
+            for (int c = 1; c < i; c++) {
+                current = current.nextUpRight();
+            }
+            current.setNextUpRight(new HexagonNode<Object>());
+            current.nextUpRight().setNextDownLeft(current);
+            current = current.nextUpRight();
+
+            // set up edge nodes between upRight and midRight corners
+            for (int e = 1; e < i; e++) {
+                current.setNextDownRight(new HexagonNode<Object>());
+                current.nextDownRight().setNextUpLeft(current);
+                current.nextDownLeft().setNextMidRight(current.nextDownRight());
+                current.nextDownRight().setNextMidLeft(current.nextDownLeft());
+                current.nextDownLeft().nextDownRight().setNextUpRight(current.nextDownRight());
+                current.nextDownRight().setNextDownLeft(current.nextDownLeft().nextDownRight());
+                current = current.nextDownRight();
+            }
+
+            // set up midRight corner node
+            current = centre;
+            for (int c = 1; c < i; c++) {
+                current = current.nextMidRight();
+            }
+            current.setNextMidRight(new HexagonNode<Object>());
+            current.nextMidRight().setNextMidLeft(current);
+            current.nextUpRight().setNextDownRight(current.nextMidRight());
+            current.nextMidRight().setNextUpLeft(current.nextUpRight());
+            current = current.nextMidRight();
+
+            // set up edge nodes between midRight and downRight corners
+            for (int e = 1; e < i; e++) {
+                current.setNextDownLeft(new HexagonNode<Object>());
+                current.nextDownLeft().setNextUpRight(current);
+                current.nextMidLeft().setNextDownRight(current.nextDownLeft());
+                current.nextDownLeft().setNextUpLeft(current.nextMidLeft());
+                current.nextMidLeft().nextDownLeft().setNextMidRight(current.nextDownLeft());
+                current.nextDownLeft().setNextMidLeft(current.nextMidLeft().nextDownLeft());
+                current = current.nextDownLeft();
+            }
+
+            // set up downRight corner node
+            current = centre;
+            for (int c = 1; c < i; c++) {
+                current = current.nextDownRight();
+            }
+            current.setNextDownRight(new HexagonNode<Object>());
+            current.nextDownRight().setNextUpLeft(current);
+            current.nextMidRight().setNextDownLeft(current.nextDownRight());
+            current.nextDownRight().setNextUpRight(current.nextMidRight());
+            current = current.nextDownRight();
+
+            // set up edge nodes between downRight and downLeft corners
+            for (int e = 1; e < i; e++) {
+                current.setNextMidLeft(new HexagonNode<Object>());
+                current.nextMidLeft().setNextMidRight(current);
+                current.nextUpLeft().setNextDownLeft(current.nextMidLeft());
+                current.nextMidLeft().setNextUpRight(current.nextUpLeft());
+                current.nextUpLeft().nextMidLeft().setNextDownRight(current.nextMidLeft());
+                current.nextMidLeft().setNextUpLeft(current.nextUpLeft().nextMidLeft());
+                current = current.nextMidLeft();
+            }
+
+            // set up downLeft corner node
+            current = centre;
+            for (int c = 1; c < i; c++) {
+                current = current.nextDownLeft();
+            }
+            current.setNextDownLeft(new HexagonNode<Object>());
+            current.nextDownLeft().setNextUpRight(current);
+            current.nextDownRight().setNextMidLeft(current.nextDownLeft());
+            current.nextDownLeft().setNextMidRight(current.nextDownRight());
+            current = current.nextDownLeft();
+
+            // set up edge nodes between downLeft and midLeft corners
+            for (int e = 1; e < i; e++) {
+                current.setNextUpLeft(new HexagonNode<Object>());
+                current.nextUpLeft().setNextDownRight(current);
+                current.nextUpRight().setNextMidLeft(current.nextUpLeft());
+                current.nextUpLeft().setNextMidRight(current.nextUpRight());
+                current.nextUpRight().nextUpLeft().setNextDownLeft(current.nextUpLeft());
+                current.nextUpLeft().setNextUpRight(current.nextUpRight().nextUpLeft());
+                current = current.nextUpLeft();
+            }
+
+            // set up midLeft corner node
+            current = centre;
+            for (int c = 1; c < i; c++) {
+                current = current.nextMidLeft();
+            }
+            current.setNextMidLeft(new HexagonNode<Object>());
+            current.nextMidLeft().setNextMidRight(current);
+            current.nextDownLeft().setNextUpLeft(current.nextMidLeft());
+            current.nextMidLeft().setNextDownRight(current.nextDownLeft());
+            current = current.nextMidLeft();
+
+            // set up edge nodes between midLeft and upLeft corners
+            for (int e = 1; e < i; e++) {
+                current.setNextUpRight(new HexagonNode<Object>());
+                current.nextUpRight().setNextDownLeft(current);
+                current.nextMidRight().setNextUpLeft(current.nextUpRight());
+                current.nextUpRight().setNextDownRight(current.nextMidRight());
+                current.nextMidRight().nextUpRight().setNextMidLeft(current.nextUpRight());
+                current.nextUpRight().setNextMidRight(current.nextMidRight().nextUpRight());
+                current = current.nextUpRight();
+            }
+
+            // set up upLeft corner node
+            current = centre;
+            for (int c = 1; c < i; c++) {
+                current = current.nextUpLeft();
+            }
+            current.setNextUpLeft(new HexagonNode<Object>());
+            current.nextUpLeft().setNextDownRight(current);
+            current.nextMidLeft().setNextUpRight(current.nextUpLeft());
+            current.nextUpLeft().setNextDownLeft(current.nextMidLeft());
+            current = current.nextUpLeft();
+
+            // set up edge nodes between upLeft and upRight corners
+            for (int e = 1; e < i; e++) {
+                current.setNextMidRight(new HexagonNode<Object>());
+                current.nextMidRight().setNextMidLeft(current);
+                current.nextDownRight().setNextUpRight(current.nextMidRight());
+                current.nextMidRight().setNextDownLeft(current.nextDownRight());
+                current.nextDownRight().nextMidRight().setNextUpLeft(current.nextMidRight());
+                current.nextMidRight().setNextDownRight(current.nextDownRight().nextMidRight());
+                current = current.nextMidRight();
+            }
+
+            // set up last connection between upRight corner and last edge between upLeft and upRight corners
+            current.setNextMidRight(current.nextDownRight().nextUpRight());
+            current.nextDownRight().nextUpRight().setNextMidLeft(current);
+
+            // reset current node to centre node
+            current = centre;
+        }
+        return centre;
+    }
+
+    /**
+     * Time one way of making a board.
+     * @param size the size of the board
+     * @param rows true to use the HexagonBoard constructor, false to use buildByRings()
+     * @return the fastest time out of several runs, in nanoseconds
+     */
+    private static long time(int size, boolean rows) {
+        int runs = Math.max(3, 2_000_000 / HexagonLayout.cellCount(size));
+        runs = Math.min(runs, 200);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            if (rows) {
+                sink += new HexagonBoard<Object>(size).centreNode().hashCode();
+            }
+            else {
+                sink += buildByRings(size).hashCode();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Time making a board with a ForkJoinPool.
+     * @param size the size of the board
+     * @param pool the threads that make the board
+     * @return the fastest time out of several runs, in nanoseconds
+     */
+    private static long time(int size, ForkJoinPool pool) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            sink += new HexagonBoard<Object>(size, pool).centreNode().hashCode();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Time making one board of the given size with 1 thread up to the most threads,
+     * and compare each time with the time of the HexagonBoard(size) constructor.
+     */
+    private static void parallel(int size, int threads) {
+        for (int i = 0; i < 20; i++) {
+            sink += new HexagonBoard<Object>(100).centreNode().hashCode();
+        }
+        double cells = HexagonLayout.cellCount(size);
+        long sequential = time(size, true);
+        System.out.printf("size %d, %d cells, %d processors%n", size, (long) cells, Runtime.getRuntime().availableProcessors());
+        System.out.printf("sequential %18.2f ns/cell%n", sequential / cells);
+        System.out.println("threads   parallel (ns/cell)   speedup");
+        for (int t = 1; t <= threads; t++) {
+            ForkJoinPool pool = new ForkJoinPool(t);
+            long parallel = time(size, pool);
+            pool.shutdown();
+            System.out.printf("%7d %20.2f %9.2fx%n", t, parallel / cells, (double) sequential / parallel);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Time running a spread rule for the given number of generations.
+     * @param board the board that is stepped, it is filled again before every run
+     * @param pool the threads that step the tiles, or null to step every cell on the calling thread
+     * @return the fastest time out of several runs, in nanoseconds
+     */
+    private static long time(ByteHexagonBoard board, ForkJoinPool pool, int generations) {
+        HexagonRule spread = (state, live) -> state == 0 ? (live >= 2 ? 1 : 0) : state == 1 ? 2 : (live == 0 ? 0 : 2);
+        HexagonAutomaton automaton = new HexagonAutomaton(board, 3, spread, pool);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            for (int c = 0; c < board.cellCount(); c++) {
+                board.set(c, (byte) (c % 7 == 0 ? 1 : 0));
+            }
+            long start = System.nanoTime();
+            automaton.step(generations);
+            best = Math.min(best, System.nanoTime() - start);
+            sink += board.centreNodeItem();
+        }
+        return best;
+    }
+
+    /**
+     * Time stepping one board of the given size on the calling thread, then with 1 thread up to the most threads.
+     */
+    private static void automaton(int size, int threads, int generations) {
+        ByteHexagonBoard board = new ByteHexagonBoard(size);
+        time(new ByteHexagonBoard(50), null, 200);
+        double steps = (double) board.cellCount() * generations;
+        long sequential = time(board, null, generations);
+        System.out.printf("size %d, %d cells, %d generations, %d processors%n",
+                size, board.cellCount(), generations, Runtime.getRuntime().availableProcessors());
+        System.out.printf("sequential %18.1f million cells/s%n", steps / sequential * 1000);
+        System.out.println("threads   tiled (million cells/s)   speedup");
+        for (int t = 1; t <= threads; t++) {
+            ForkJoinPool pool = new ForkJoinPool(t);
+            long tiled = time(board, pool, generations);
+            pool.shutdown();
+            System.out.printf("%7d %25.1f %9.2fx%n", t, steps / tiled * 1000, (double) sequential / tiled);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Time one kernel on a buffer.
+     * @param kernel the kernel to time, it is given the kernels to use
+     * @param kernels the kernels to use
+     * @return the fastest time out of several runs, in nanoseconds
+     */
+    private static long time(ToIntFunction<HexagonKernels> kernel, HexagonKernels kernels) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 200; i++) {
+            long start = System.nanoTime();
+            sink += kernel.applyAsInt(kernels);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Time every kernel with the scalar kernels and with HexagonKernels.best() on the buffer of a board of the given size.
+     */
+    private static void kernels(int size) {
+        int width = 2 * size + 3;
+        byte[] cells = new byte[width * width];
+        byte[] other = new byte[width * width];
+        byte[] out = new byte[width * width];
+        byte[] table = new byte[HexagonKernels.TABLE_LENGTH];
+        Random random = new Random(size);
+        for (int p = width; p < cells.length - width; p++) {
+            cells[p] = (byte) random.nextInt(3);
+            other[p] = random.nextInt(10) == 0 ? (byte) random.nextInt(3) : cells[p];
+        }
+        for (int k = 0; k < 7 * 3; k++) {
+            table[k] = (byte) random.nextInt(3);
+        }
+        int from = width;
+        int to = cells.length - width;
+        String[] names = {"liveCounts", "step", "fill", "countEqual", "diff"};
+        List<ToIntFunction<HexagonKernels>> kernels = Arrays.asList(
+                k -> { k.liveCounts(cells, width, from, to, out); return out[from]; },
+                k -> { k.step(cells, width, table, from, to, out); return out[from]; },
+                k -> { k.fill(out, from, to, (byte) 1); return out[from]; },
+                k -> k.countEqual(cells, from, to, (byte) 1),
+                k -> k.diff(cells, other, from, to));
+        HexagonKernels best = HexagonKernels.best();
+        System.out.printf("size %d, %d bytes, best kernels are %s%n", size, to - from, best.name());
+        System.out.println("kernel        scalar (ns/cell)   best (ns/cell)   speedup");
+        for (int k = 0; k < names.length; k++) {
+            time(kernels.get(k), HexagonKernels.scalar());
+            time(kernels.get(k), best);
+            long scalar = time(kernels.get(k), HexagonKernels.scalar());
+            long vector = time(kernels.get(k), best);
+            System.out.printf("%-10s %19.3f %16.3f %9.2fx%n", names[k], (double) scalar / (to - from),
+                    (double) vector / (to - from), (double) scalar / vector);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("kernels")) {
+            kernels(args.length > 1 ? Integer.parseInt(args[1]) : 500);
+            return;
+        } else {}
+        if (args.length > 0 && args[0].equals("automaton")) {
+            int size = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int generations = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+            automaton(size, threads, generations);
+            return;
+        } else {}
+        if (args.length > 0 && args[0].equals("parallel")) {
+            int size = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            parallel(size, threads);
+            return;
+        } else {}
+        int largest = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        // warm up both ways of making a board so that they are both compiled
+        for (int i = 0; i < 200; i++) {
+            sink += new HexagonBoard<Object>(30).centreNode().hashCode();
+            sink += buildByRings(30).hashCode();
+        }
+
+        System.out.println("size        cells     rings (ns/cell)   rows (ns/cell)   speedup");
+        for (int size : SIZES) {
+            if (size > largest) {
+                break;
+            } else {}
+            double cells = HexagonLayout.cellCount(size);
+            long rings = time(size, false);
+            long rows = time(size, true);
+            System.out.printf("%4d %12d %18.2f %16.2f %9.2fx%n",
+                    size, (long) cells, rings / cells, rows / cells, (double) rings / rows);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+}
@@ -0,0 +1,96 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonBoardHeader is the header at the start of a saved board.
+ * It is 16 bytes long and is always little-endian:
+ *  bytes 0-3: the magic number 0x48455842 ("HEXB")
+ *  bytes 4-7: the version of the format
+ *  bytes 8-11: the size of the board
+ *  bytes 12-15: the number of bytes in each cell
+ * The cells come after the header in row-major order (see HexagonLayout.java).
+ */
+public final class HexagonBoardHeader {
+    public static final int MAGIC = 0x48455842;
+    public static final int VERSION = 1;
+    public static final int BYTES = 16;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final int size;
+    private final int cellWidth;
+
+    /**
+     * Constructor method for a new HexagonBoardHeader.
+     * @param sz the size of the board
+     * @param width the number of bytes in each cell
+     */
+    public HexagonBoardHeader(int sz, int width) {
+        this.size = sz;
+        this.cellWidth = width;
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of bytes in each cell
+     */
+    public int cellWidth() {
+        return this.cellWidth;
+    }
+
+    /**
+     * Write the header into out, starting at its position.
+     * @param out the buffer to write to, it is left in little-endian order
+     * @precond out has at least BYTES bytes remaining
+     */
+    public void write(ByteBuffer out) {
+        out.order(ORDER);
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(this.size);
+        out.putInt(this.cellWidth);
+    }
+
+    /**
+     * Read a header from in, starting at its position.
+     * @param in the buffer to read from, it is left in little-endian order
+     * @return the header that was read
+     * @precond in has at least BYTES bytes remaining
+     */
+    public static HexagonBoardHeader read(ByteBuffer in) {
+        in.order(ORDER);
+        int magic = in.getInt();
+        int version = in.getInt();
+        if (magic != MAGIC) {
+            throw new RuntimeException("Not a saved HexagonBoard, the magic number is " + Integer.toHexString(magic));
+        } else {}
+        if (version != VERSION) {
+            throw new RuntimeException("Saved HexagonBoard has version " + version + ", only version "
+                    + VERSION + " can be read");
+        } else {}
+        HexagonBoardHeader header = new HexagonBoardHeader(in.getInt(), in.getInt());
+        if (header.size < 0 || header.cellWidth < 0) {
+            throw new RuntimeException("Saved HexagonBoard has a header that is not valid");
+        } else {}
+        return header;
+    }
+
+    /**
+     * Throw an exception if this header is not for a board of the given size and cell width.
+     * @param sz the size the board should have
+     * @param width the number of bytes each cell should have
+     */
+    public void check(int sz, int width) {
+        if (this.size != sz || this.cellWidth != width) {
+            throw new RuntimeException("Saved HexagonBoard has size " + this.size + " and cell width "
+                    + this.cellWidth + ", but size " + sz + " and cell width " + width + " were expected");
+        } else {}
+    }
+}
@@ -0,0 +1,332 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonBoardIO saves boards to a channel and loads them back again.
+ * A saved board is a HexagonBoardHeader with a cell width of 0 (the cells do not all have the same width),
+ * followed by the item of every cell in row-major order (see HexagonLayout.java).
+ * Each item is a 4 byte little-endian length, or -1 for a null item, followed by that many bytes from a HexagonItemCodec.
+ *
+ * The items are streamed through one small buffer, so a board is never copied into a byte array or String first.
+ */
+public final class HexagonBoardIO {
+
+    /** The number of bytes that are buffered before they are written to, or after they are read from, a channel. */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private HexagonBoardIO() {
+    }
+
+    /**
+     * Save a HexagonBoard to a channel, the channel is not closed.
+     * @param board the board to be saved
+     * @param codec the codec for the items of the board
+     * @param out the channel to write to
+     * @throws IOException if the channel cannot be written to
+     */
+    public static <I> void write(HexagonBoard<I> board, HexagonItemCodec<? super I> codec, WritableByteChannel out)
+            throws IOException {
+        write(board.size(), board::get, codec, out);
+    }
+
+    /**
+     * Save a FlatHexagonBoard to a channel, the channel is not closed.
+     * @param board the board to be saved
+     * @param codec the codec for the items of the board
+     * @param out the channel to write to
+     * @throws IOException if the channel cannot be written to
+     */
+    public static <I> void write(FlatHexagonBoard<I> board, HexagonItemCodec<? super I> codec, WritableByteChannel out)
+            throws IOException {
+        write(board.size(), board::get, codec, out);
+    }
+
+    /**
+     * Load a HexagonBoard from a channel, the channel is not closed.
+     * @param codec the codec for the items of the board
+     * @param in the channel to read from
+     * @return the board that was saved
+     * @throws IOException if the channel cannot be read from
+     */
+    public static <I> HexagonBoard<I> readHexagonBoard(HexagonItemCodec<? extends I> codec, ReadableByteChannel in)
+            throws IOException {
+        Input input = new Input(in);
+        HexagonBoard<I> board = new HexagonBoard<>(input.header().size());
+        input.items(board.size(), codec, (item, i) -> board.set(i, item));
+        return board;
+    }
+
+    /**
+     * Load a FlatHexagonBoard from a channel, the channel is not closed.
+     * @param codec the codec for the items of the board
+     * @param in the channel to read from
+     * @return the board that was saved
+     * @throws IOException if the channel cannot be read from
+     */
+    public static <I> FlatHexagonBoard<I> readFlatHexagonBoard(HexagonItemCodec<? extends I> codec, ReadableByteChannel in)
+            throws IOException {
+        Input input = new Input(in);
+        FlatHexagonBoard<I> board = new FlatHexagonBoard<>(input.header().size());
+        input.items(board.size(), codec, (item, i) -> board.set(i, item));
+        return board;
+    }
+
+    /**
+     * Write the header and every item of a board.
+     * @param size the size of the board
+     * @param items the item of each cell, by index in row-major order
+     * @param codec the codec for the items
+     * @param out the channel to write to
+     */
+    private static <I> void write(int size, IntFunction<? extends I> items, HexagonItemCodec<? super I> codec,
+                                  WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        new HexagonBoardHeader(size, 0).write(buffer);
+        int cells = HexagonLayout.cellCount(size);
+        for (int i = 0; i < cells; i++) {
+            I item = items.apply(i);
+            if (buffer.remaining() < Integer.BYTES) {
+                flush(buffer, out);
+            } else {}
+            if (item == null) {
+                buffer.putInt(-1);
+            }
+            else {
+                int length = codec.encodedLength(item);
+                buffer.putInt(length);
+                if (length > buffer.remaining()) {
+                    flush(buffer, out);
+                } else {}
+                if (length <= buffer.capacity()) {
+                    codec.encode(item, buffer);
+                }
+                else {
+                    // the item does not fit in the buffer, so it gets a buffer of its own
+                    ByteBuffer large = ByteBuffer.allocate(length).order(HexagonBoardHeader.ORDER);
+                    codec.encode(item, large);
+                    large.flip();
+                    while (large.hasRemaining()) {
+                        out.write(large);
+                    }
+                }
+            }
+        }
+        flush(buffer, out);
+    }
+
+    /**
+     * Write everything in the buffer to the channel and empty the buffer.
+     */
+    private static void flush(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Input reads a saved board from a channel through a buffer.
+     */
+    private static final class Input {
+        private final ReadableByteChannel in;
+        private final ByteBuffer buffer;
+
+        Input(ReadableByteChannel channel) {
+            this.in = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_BYTES).order(HexagonBoardHeader.ORDER);
+            this.buffer.flip(); // the buffer starts with nothing to read
+        }
+
+        /**
+         * Read the header and check that it is the header of a board saved by HexagonBoardIO,
+         * with a size small enough that the board can be made.
+         */
+        HexagonBoardHeader header() throws IOException {
+            this.require(HexagonBoardHeader.BYTES);
+            HexagonBoardHeader header = HexagonBoardHeader.read(this.buffer);
+            header.check(header.size(), 0);
+            if (header.size() > HexagonLayout.MAX_SIZE) {
+                throw new RuntimeException("Saved HexagonBoard has size " + header.size()
+                        + ", but a board can have size at most " + HexagonLayout.MAX_SIZE);
+            } else {}
+            return header;
+        }
+
+        /**
+         * Read the item of every cell and give each one to the board.
+         */
+        <I> void items(int size, HexagonItemCodec<? extends I> codec, ObjIntConsumer<I> board) throws IOException {
+            int cells = HexagonLayout.cellCount(size);
+            for (int i = 0; i < cells; i++) {
+                this.require(Integer.BYTES);
+                int length = this.buffer.getInt();
+                if (length == -1) {
+                    board.accept(null, i);
+                }
+                else if (length < 0) {
+                    throw new RuntimeException("Saved HexagonBoard has an item with length " + length);
+                }
+                else if (length <= this.buffer.capacity()) {
+                    this.require(length);
+                    int end = this.buffer.position() + length;
+                    board.accept(codec.decode(this.buffer, length), i);
+                    this.buffer.position(end);
+                }
+                else {
+                    // the item does not fit in the buffer, so it gets a buffer of its own
+                    ByteBuffer large = ByteBuffer.allocate(length).order(HexagonBoardHeader.ORDER);
+                    int buffered = Math.min(length, this.buffer.remaining());
+                    large.put(this.buffer.array(), this.buffer.position(), buffered);
+                    this.buffer.position(this.buffer.position() + buffered);
+                    while (large.hasRemaining()) {
+                        if (this.in.read(large) < 0) {
+                            throw new RuntimeException("Saved HexagonBoard ended before its last item");
+                        } else {}
+                    }
+                    large.flip();
+                    board.accept(codec.decode(large, length), i);
+                }
+            }
+        }
+
+        /**
+         * Read from the channel until the buffer has at least n bytes that have not been read yet.
+         */
+        private void require(int n) throws IOException {
+            if (this.buffer.remaining() >= n) {
+                return;
+            } else {}
+            this.buffer.compact();
+            while (this.buffer.position() < n) {
+                if (this.in.read(this.buffer) < 0) {
+                    throw new RuntimeException("Saved HexagonBoard ended before its last item");
+                } else {}
+            }
+            this.buffer.flip();
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonBoardIO.java");
+        int uErrors = 0; // unintentional errors
+
+        try {
+            // save and load a HexagonBoard of strings, including nulls, non-ASCII text, and an item bigger than the buffer
+            HexagonBoard<String> board = new HexagonBoard<>(4);
+            board.set(0, "Java");
+            board.set(1, "h\u00e9xagon \u2b21 \ud83d\ude00");
+            board.set(2, "");
+            char[] big = new char[BUFFER_BYTES * 2 + 7];
+            Arrays.fill(big, '\u00e9');
+            board.set(30, new String(big));
+            board.goDownLeft();
+            board.setCurrentNodeItem("cursor");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            write(board, HexagonItemCodec.STRING, Channels.newChannel(bytes));
+
+            HexagonBoard<String> loaded = readHexagonBoard(HexagonItemCodec.STRING,
+                    Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+            if (loaded.size() != 4) {
+                System.out.println("Error: the loaded board should have size 4, but has size " + loaded.size());
+                uErrors += 1;
+            } else {}
+            for (int i = 0; i < HexagonLayout.cellCount(4); i++) {
+                if (!Objects.equals(board.get(i), loaded.get(i))) {
+                    System.out.println("Error: cell " + i + " of the loaded board should be " + board.get(i)
+                            + ", but is " + loaded.get(i));
+                    uErrors += 1;
+                } else {}
+            }
+
+            // save and load a FlatHexagonBoard of integers, big enough that the buffer is refilled many times
+            FlatHexagonBoard<Integer> flatBoard = new FlatHexagonBoard<>(100);
+            for (int i = 0; i < flatBoard.cellCount(); i++) {
+                flatBoard.set(i, i % 7 == 0 ? null : i * 31);
+            }
+            bytes = new ByteArrayOutputStream();
+            write(flatBoard, HexagonItemCodec.INTEGER, Channels.newChannel(bytes));
+            int expected = HexagonBoardHeader.BYTES + flatBoard.cellCount() * 4
+                    + (flatBoard.cellCount() - (flatBoard.cellCount() + 6) / 7) * 4;
+            if (bytes.size() != expected) {
+                System.out.println("Error: the saved board should be " + expected + " bytes, but is " + bytes.size());
+                uErrors += 1;
+            } else {}
+            FlatHexagonBoard<Integer> loadedFlat = readFlatHexagonBoard(HexagonItemCodec.INTEGER,
+                    Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+            for (int i = 0; i < flatBoard.cellCount(); i++) {
+                if (!Objects.equals(flatBoard.get(i), loadedFlat.get(i))) {
+                    System.out.println("Error: cell " + i + " of the loaded board should be " + flatBoard.get(i)
+                            + ", but is " + loadedFlat.get(i));
+                    uErrors += 1;
+                    break;
+                } else {}
+            }
+
+            // test loading a board that was cut short
+            byte[] cut = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+            try {
+                readFlatHexagonBoard(HexagonItemCodec.INTEGER, Channels.newChannel(new ByteArrayInputStream(cut)));
+                System.out.println("Error: readFlatHexagonBoard() did not throw an exception for a board that was cut short");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("readFlatHexagonBoard() correctly caught exception for a board that was cut short.");
+            }
+
+            // test loading something that is not a saved board
+            try {
+                readHexagonBoard(HexagonItemCodec.INTEGER, Channels.newChannel(new ByteArrayInputStream(new byte[32])));
+                System.out.println("Error: readHexagonBoard() did not throw an exception for bytes that are not a board");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("readHexagonBoard() correctly caught exception for bytes that are not a board.");
+            }
+
+            // test loading a header with a size too big to lay out, before any board is made
+            ByteBuffer tooBig = ByteBuffer.allocate(HexagonBoardHeader.BYTES);
+            new HexagonBoardHeader(HexagonLayout.MAX_SIZE + 1, 0).write(tooBig);
+            for (int reader = 0; reader < 2; reader++) {
+                try {
+                    if (reader == 0) {
+                        readHexagonBoard(HexagonItemCodec.INTEGER, Channels.newChannel(new ByteArrayInputStream(tooBig.array())));
+                    }
+                    else {
+                        readFlatHexagonBoard(HexagonItemCodec.INTEGER, Channels.newChannel(new ByteArrayInputStream(tooBig.array())));
+                    }
+                    System.out.println("Error: reader " + reader + " did not throw an exception for a board of size "
+                            + (HexagonLayout.MAX_SIZE + 1));
+                    uErrors += 1;
+                }
+                catch (RuntimeException e) {
+                    if (e.getMessage().startsWith("Saved HexagonBoard has size")) {
+                        System.out.println("HexagonBoardIO correctly caught exception for a board that is too big.");
+                    }
+                    else {
+                        System.out.println("Error: a board that is too big gave the wrong exception: " + e.getMessage());
+                        uErrors += 1;
+                    }
+                }
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: HexagonBoardIO method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonBoardRenderer draws the picture of a board that toString() returns, for example:
+ *   O - O
+ *  / \ / \
+ * O - * - O
+ *  \ / \ /
+ *   O - O
+ * Every cell is an O except for the current cell, which is a *.
+ * The picture is written straight to an Appendable, so drawing a big board does not build a new String
+ * for every character. Small boards are copied from a HexagonBoardTemplate, big boards are drawn one row at a time.
+ */
+public final class HexagonBoardRenderer {
+
+    private HexagonBoardRenderer() {
+    }
+
+    /**
+     * @param size the size of the board
+     * @return the number of characters in the picture of a board of the given size
+     */
+    public static int length(int size) {
+        long length = 0;
+        for (int i = 0; i <= 2 * size; i++) {
+            int cells = HexagonLayout.rowLength(size, i);
+            int indent = 2 * Math.abs(size - i);
+            length += indent + 4 * cells - 2; // O - O - O and a newline
+            if (i != size) {
+                length += indent - 1 + 4 * cells; // / \ / \ or \ / \ / and a newline
+            } else {}
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new RuntimeException("The picture of a board of size " + size + " is too big for one String");
+        } else {}
+        return (int) length;
+    }
+
+    /**
+     * Write the picture of a board to out.
+     * @param size the size of the board
+     * @param row the row index of the current cell
+     * @param col the column index of the current cell
+     * @param out where the picture is written
+     * @throws IOException if out cannot be written to
+     */
+    public static void render(int size, int row, int col, Appendable out) throws IOException {
+        render(size, row, col, null, out);
+    }
+
+    /**
+     * Write the picture of a board to out, drawing each cell with glyphs instead of an O.
+     * Boards up to HexagonBoardTemplate.MAX_CACHED_SIZE are drawn from a shared template,
+     * bigger boards are drawn one row at a time.
+     * @param size the size of the board
+     * @param row the row index of the current cell
+     * @param col the column index of the current cell
+     * @param glyphs the character for each cell, or null to draw every cell as an O
+     * @param out where the picture is written
+     * @throws IOException if out cannot be written to
+     */
+    public static void render(int size, int row, int col, HexagonGlyphs glyphs, Appendable out) throws IOException {
+        if (size <= HexagonBoardTemplate.MAX_CACHED_SIZE) {
+            HexagonBoardTemplate.of(size).render(HexagonLayout.index(size, row, col), glyphs, out);
+        }
+        else {
+            stream(size, row, col, glyphs, out);
+        }
+    }
+
+    /**
+     * @return the picture of a board as a String
+     */
+    public static String toString(int size, int row, int col) {
+        return toString(size, row, col, null);
+    }
+
+    /**
+     * @return the picture of a board as a String, drawing each cell with glyphs instead of an O
+     */
+    public static String toString(int size, int row, int col, HexagonGlyphs glyphs) {
+        if (size <= HexagonBoardTemplate.MAX_CACHED_SIZE) {
+            return HexagonBoardTemplate.of(size).toString(HexagonLayout.index(size, row, col), glyphs);
+        } else {}
+        StringBuilder result = new StringBuilder(length(size));
+        try {
+            stream(size, row, col, glyphs, result);
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e); // a StringBuilder never throws an IOException
+        }
+        return result.toString();
+    }
+
+    /**
+     * Write the picture of a board to out in one pass, one row at a time.
+     * @param size the size of the board
+     * @param row the row index of the current cell, or -1 if no cell is drawn as a *
+     * @param col the column index of the current cell
+     * @param glyphs the character for each cell, or null to draw every cell as an O
+     * @param out where the picture is written
+     * @throws IOException if out cannot be written to
+     */
+    static void stream(int size, int row, int col, HexagonGlyphs glyphs, Appendable out) throws IOException {
+        int index = 0; // the index of the next cell to be drawn
+        for (int i = 0; i <= 2 * size; i++) {
+            int last = HexagonLayout.rowLength(size, i) - 1;
+            if (i > size) {
+                // bottom half of the board, add \ / \ / \ / above the row
+                spaces(2 * (i - size) - 1, out);
+                for (int k = 0; k < last; k++) {
+                    out.append("\\ / ");
+                }
+                out.append("\\ /\n");
+            } else {}
+            // add O - O - O
+            spaces(2 * Math.abs(size - i), out);
+            for (int j = 0; j <= last; j++) {
+                if (i == row && j == col) {
+                    out.append('*');
+                }
+                else {
+                    out.append(glyphs == null ? 'O' : glyphs.glyph(index));
+                }
+                out.append(j < last ? " - " : "\n");
+                index += 1;
+            }
+            if (i < size) {
+                // top half of the board, add / \ / \ / \ below the row
+                spaces(2 * (size - i) - 1, out);
+                for (int k = 0; k < last; k++) {
+                    out.append("/ \\ ");
+                }
+                out.append("/ \\\n");
+            } else {}
+        }
+    }
+
+    /**
+     * Write n spaces to out.
+     */
+    private static void spaces(int n, Appendable out) throws IOException {
+        for (int s = 0; s < n; s++) {
+            out.append(' ');
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonBoardRenderer.java");
+        int uErrors = 0; // unintentional errors
+
+        // test length() against the length of the picture
+        for (int size = 0; size <= 20; size++) {
+            String picture = toString(size, size, size);
+            if (picture.length() != length(size)) {
+                System.out.println("Error: length(" + size + ") should return " + picture.length()
+                        + ", but returned " + length(size));
+                uErrors += 1;
+            } else {}
+        }
+
+        // test the picture of a board of size 1 with the cursor on the top left cell
+        String expected = "  * - O\n"
+                + " / \\ / \\\n"
+                + "O - O - O\n"
+                + " \\ / \\ /\n"
+                + "  O - O\n";
+        if (!toString(1, 0, 0).equals(expected)) {
+            System.out.println("Error: toString(1, 0, 0) should return\n" + expected + "but returned\n" + toString(1, 0, 0));
+            uErrors += 1;
+        } else {}
+
+        // test that a board too big for a template is drawn the same way
+        int big = HexagonBoardTemplate.MAX_CACHED_SIZE + 1;
+        HexagonGlyphs parity = i -> i % 2 == 0 ? 'O' : 'X';
+        String streamed = toString(big, 3, 2, parity);
+        String copied = HexagonBoardTemplate.of(big).toString(HexagonLayout.index(big, 3, 2), parity);
+        if (!streamed.equals(copied)) {
+            System.out.println("Error: the picture of a board of size " + big + " does not match its template");
+            uErrors += 1;
+        } else {}
+
+        // test render() to a Writer
+        try {
+            StringWriter writer = new StringWriter();
+            render(3, 6, 3, writer);
+            if (!writer.toString().equals(toString(3, 6, 3))) {
+                System.out.println("Error: render() to a Writer does not match toString()");
+                uErrors += 1;
+            } else {}
+        }
+        catch (IOException e) {
+            System.out.println("Error: render() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A HexagonBoardTemplate is the picture of an empty board of one size (every cell is an O),
+ * along with the position of every cell in the picture.
+ * The connecting lines and spaces of the picture only depend on the size of the board,
+ * so a board is drawn by copying the template and then changing only the characters of the cells.
+ * Templates are made once for each size and shared through a HexagonSoftCache, so the garbage collector
+ * can take back the templates of sizes that are no longer drawn when memory runs low.
+ */
+public final class HexagonBoardTemplate {
+
+    /** Templates are only kept for boards up to this size, the pictures of bigger boards take up too much memory. */
+    public static final int MAX_CACHED_SIZE = 200;
+
+    private static final HexagonSoftCache<HexagonBoardTemplate> CACHE = new HexagonSoftCache<>(HexagonBoardTemplate::new);
+
+    private final int size;
+    private final char[] chars; // the picture with every cell drawn as an O
+    private final int[] offsets; // the position of each cell in chars, by index in row-major order
+
+    /**
+     * Constructor method for a new HexagonBoardTemplate, use of() to get a shared template.
+     * @param sz the size of the board
+     */
+    private HexagonBoardTemplate(int sz) {
+        this.size = sz;
+        StringBuilder picture = new StringBuilder(HexagonBoardRenderer.length(sz));
+        try {
+            HexagonBoardRenderer.stream(sz, -1, -1, null, picture);
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e); // a StringBuilder never throws an IOException
+        }
+        this.chars = new char[picture.length()];
+        picture.getChars(0, this.chars.length, this.chars, 0);
+
+        // the cells are the only O's in the picture, and they are in row-major order
+        this.offsets = new int[HexagonLayout.cellCount(sz)];
+        int cell = 0;
+        for (int i = 0; i < this.chars.length; i++) {
+            if (this.chars[i] == 'O') {
+                this.offsets[cell] = i;
+                cell += 1;
+            } else {}
+        }
+    }
+
+    /**
+     * @param sz the size of the board
+     * @return the template for boards of the given size, shared if sz <= MAX_CACHED_SIZE
+     * @precond sz >= 0
+     */
+    public static HexagonBoardTemplate of(int sz) {
+        if (sz < 0) {
+            throw new RuntimeException("HexagonBoardTemplate must have size at least 0");
+        }
+        else if (sz > MAX_CACHED_SIZE) {
+            return new HexagonBoardTemplate(sz);
+        }
+        else {
+            return CACHE.get(sz);
+        }
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of characters in the picture
+     */
+    public int length() {
+        return this.chars.length;
+    }
+
+    /**
+     * @param index the index of a cell in row-major order
+     * @return the position of the cell's character in the picture
+     */
+    public int offset(int index) {
+        return this.offsets[index];
+    }
+
+    /**
+     * @return a copy of the picture with every cell drawn as an O
+     */
+    public char[] copy() {
+        return this.chars.clone();
+    }
+
+    /**
+     * Write the picture to out with the current cell drawn as a * and every other cell drawn as an O.
+     * The template is written around the current cell, so nothing is copied.
+     * @param cursor the index of the current cell in row-major order
+     * @param out where the picture is written
+     * @throws IOException if out cannot be written to
+     */
+    public void render(int cursor, Appendable out) throws IOException {
+        int star = this.offsets[cursor];
+        write(this.chars, 0, star, out);
+        out.append('*');
+        write(this.chars, star + 1, this.chars.length, out);
+    }
+
+    /**
+     * Write the picture to out with the current cell drawn as a * and every other cell drawn with glyphs.
+     * @param cursor the index of the current cell in row-major order
+     * @param glyphs the character for each cell, or null to draw every cell as an O
+     * @param out where the picture is written
+     * @throws IOException if out cannot be written to
+     */
+    public void render(int cursor, HexagonGlyphs glyphs, Appendable out) throws IOException {
+        if (glyphs == null) {
+            this.render(cursor, out);
+        }
+        else {
+            char[] picture = this.fill(cursor, glyphs);
+            write(picture, 0, picture.length, out);
+        }
+    }
+
+    /**
+     * @param cursor the index of the current cell in row-major order
+     * @param glyphs the character for each cell, or null to draw every cell as an O
+     * @return the picture as a String
+     */
+    public String toString(int cursor, HexagonGlyphs glyphs) {
+        return new String(this.fill(cursor, glyphs));
+    }
+
+    /**
+     * @return a copy of the picture with every cell's character filled in
+     */
+    private char[] fill(int cursor, HexagonGlyphs glyphs) {
+        char[] picture = this.copy();
+        if (glyphs != null) {
+            for (int i = 0; i < this.offsets.length; i++) {
+                picture[this.offsets[i]] = glyphs.glyph(i);
+            }
+        } else {}
+        picture[this.offsets[cursor]] = '*';
+        return picture;
+    }
+
+    /**
+     * Write chars[from] up to but not including chars[to] to out, without copying them if out is a Writer or StringBuilder.
+     */
+    static void write(char[] chars, int from, int to, Appendable out) throws IOException {
+        if (out instanceof Writer) {
+            ((Writer) out).write(chars, from, to - from);
+        }
+        else if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, from, to - from);
+        }
+        else {
+            out.append(CharBuffer.wrap(chars, from, to - from));
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonBoardTemplate.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that templates are shared
+        if (HexagonBoardTemplate.of(4) != HexagonBoardTemplate.of(4)) {
+            System.out.println("Error: of(4) did not return the same template twice");
+            uErrors += 1;
+        } else {}
+
+        // test the template against the streamed picture for every cursor position
+        try {
+            for (int size = 0; size <= 6; size++) {
+                HexagonBoardTemplate template = HexagonBoardTemplate.of(size);
+                for (int i = 0; i < HexagonLayout.cellCount(size); i++) {
+                    int row = HexagonLayout.rowOf(size, i);
+                    int col = HexagonLayout.colOf(size, i);
+                    StringBuilder streamed = new StringBuilder();
+                    HexagonBoardRenderer.stream(size, row, col, null, streamed);
+                    StringBuilder rendered = new StringBuilder();
+                    template.render(i, rendered);
+                    if (!streamed.toString().equals(rendered.toString())
+                            || !streamed.toString().equals(template.toString(i, null))) {
+                        System.out.println("Error: the template for size " + size + " does not match the streamed picture"
+                                + " with the cursor on cell " + i);
+                        uErrors += 1;
+                    } else {}
+                }
+            }
+
+            // test drawing cells with glyphs
+            HexagonBoardTemplate template = HexagonBoardTemplate.of(1);
+            String expected = "  0 - 1\n"
+                    + " / \\ / \\\n"
+                    + "2 - * - 4\n"
+                    + " \\ / \\ /\n"
+                    + "  5 - 6\n";
+            HexagonGlyphs digits = i -> (char) ('0' + i);
+            if (!template.toString(3, digits).equals(expected)) {
+                System.out.println("Error: toString(3, digits) should return\n" + expected + "but returned\n"
+                        + template.toString(3, digits));
+                uErrors += 1;
+            } else {}
+            StringBuilder rendered = new StringBuilder();
+            template.render(3, digits, rendered);
+            if (!rendered.toString().equals(expected)) {
+                System.out.println("Error: render(3, digits) does not match toString(3, digits)");
+                uErrors += 1;
+            } else {}
+        }
+        catch (IOException e) {
+            System.out.println("Error: HexagonBoardTemplate method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonCellSpliterator goes through the indexes of the cells of a board in row-major order (see HexagonLayout.java),
+ * so that the cells of a board can be used with streams, including parallel streams.
+ * When it is split, it is split at the start of a row close to the middle of its cells,
+ * so each part is made of whole rows and covers one run of the board's arrays.
+ */
+public final class HexagonCellSpliterator implements Spliterator.OfInt {
+    private final int size;
+    private int next; // the index of the next cell
+    private final int end; // one past the index of the last cell
+
+    /**
+     * Constructor method for a HexagonCellSpliterator over every cell of a board.
+     * @param sz the size of the board
+     */
+    public HexagonCellSpliterator(int sz) {
+        this(sz, 0, HexagonLayout.cellCount(sz));
+    }
+
+    /**
+     * Constructor method for a HexagonCellSpliterator over the cells from index first up to but not including index last.
+     * @param sz the size of the board
+     * @param first the index of the first cell
+     * @param last one past the index of the last cell
+     * @precond 0 <= first <= last <= HexagonLayout.cellCount(sz)
+     */
+    public HexagonCellSpliterator(int sz, int first, int last) {
+        this.size = sz;
+        this.next = first;
+        this.end = last;
+    }
+
+    /**
+     * @param sz the size of the board
+     * @param parallel true for a parallel stream, false for a sequential stream
+     * @return a stream of the index of every cell of a board, in row-major order
+     */
+    public static IntStream stream(int sz, boolean parallel) {
+        return StreamSupport.intStream(new HexagonCellSpliterator(sz), parallel);
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (this.next < this.end) {
+            action.accept(this.next);
+            this.next += 1;
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        int i = this.next;
+        int last = this.end;
+        this.next = last;
+        for (; i < last; i++) {
+            action.accept(i);
+        }
+    }
+
+    /**
+     * Split off the first half of the cells that are left, ending at the start of a row.
+     * @return a HexagonCellSpliterator over the first half, or null if the cells left are all in one row
+     */
+    @Override
+    public HexagonCellSpliterator trySplit() {
+        if (this.end - this.next < 2) {
+            return null;
+        } else {}
+        int middle = (this.next + this.end) >>> 1;
+        int row = HexagonLayout.rowOf(this.size, middle);
+        int split = HexagonLayout.rowStart(this.size, row);
+        if (split <= this.next) {
+            // the middle is in the first row, so split after the first row instead
+            split = HexagonLayout.rowStart(this.size, row + 1);
+        } else {}
+        if (split >= this.end) {
+            return null;
+        } else {}
+        HexagonCellSpliterator prefix = new HexagonCellSpliterator(this.size, this.next, split);
+        this.next = split;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.end - this.next;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * The cells are in the natural order of their indexes.
+     * @return null
+     */
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonCellSpliterator.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that a sequential stream gives every cell once and in order
+        for (int size = 0; size <= 6; size++) {
+            int[] cells = stream(size, false).toArray();
+            boolean inOrder = cells.length == HexagonLayout.cellCount(size);
+            for (int i = 0; i < cells.length; i++) {
+                inOrder = inOrder && cells[i] == i;
+            }
+            if (!inOrder) {
+                System.out.println("Error: stream() did not give every cell of a board of size " + size + " in order");
+                uErrors += 1;
+            } else {}
+        }
+
+        // split a spliterator all the way down and check that every part is made of whole rows
+        int size = 40;
+        List<HexagonCellSpliterator> parts = new ArrayList<>();
+        parts.add(new HexagonCellSpliterator(size));
+        for (int k = 0; k < parts.size(); k++) {
+            HexagonCellSpliterator prefix = parts.get(k).trySplit();
+            if (prefix != null) {
+                parts.add(prefix);
+                k -= 1; // split the same part again
+            } else {}
+        }
+        if (parts.size() != HexagonLayout.rowCount(size)) {
+            System.out.println("Error: a board of size " + size + " should split into " + HexagonLayout.rowCount(size)
+                    + " rows, but split into " + parts.size() + " parts");
+            uErrors += 1;
+        } else {}
+        long total = 0;
+        for (HexagonCellSpliterator part : parts) {
+            int row = HexagonLayout.rowOf(size, part.next);
+            if (part.next != HexagonLayout.rowStart(size, row) || part.end != HexagonLayout.rowStart(size, row + 1)
+                    || part.estimateSize() != HexagonLayout.rowLength(size, row)) {
+                System.out.println("Error: the part from cell " + part.next + " to cell " + part.end + " is not one whole row");
+                uErrors += 1;
+            } else {}
+            total += part.estimateSize();
+        }
+        if (total != HexagonLayout.cellCount(size)) {
+            System.out.println("Error: the parts should have " + HexagonLayout.cellCount(size) + " cells, but have " + total);
+            uErrors += 1;
+        } else {}
+
+        // test a parallel stream
+        size = 300;
+        long n = HexagonLayout.cellCount(size);
+        long sum = stream(size, true).asLongStream().sum();
+        if (sum != n * (n - 1) / 2) {
+            System.out.println("Error: a parallel stream should add up to " + n * (n - 1) / 2 + ", but added up to " + sum);
+            uErrors += 1;
+        } else {}
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
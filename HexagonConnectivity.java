@@ -0,0 +1,357 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonConnectivity keeps track of which of one player's cells are connected to each other,
+ * and which of the six sides of the board they are connected to, as the player places stones one cell at a time.
+ * It is a union-find structure over the cells of the board: when a cell is placed, it is joined to each of its neighbours
+ * that were already placed. Finding the group of a cell halves the path to the root of the group as it goes,
+ * and the smaller group is always joined under the bigger one, so each place() and each question
+ * costs close to constant time no matter how big the board is.
+ *
+ * Instead of one extra node for each side of the board, the root of each group keeps a bit for each side its group touches.
+ * With side nodes, two groups that touch the same side would count as joined through that side,
+ * so a group from the top to the left and another group from the left to the bottom would look like a chain
+ * from the top to the bottom. With side bits, two sides are only joined when one group touches both of them.
+ *
+ * The sides, going clockwise from the top:
+ *          TOP
+ *            O - O - O
+ * UPPER_LEFT  / \ / \ / \  UPPER_RIGHT
+ *            O - O - O - O
+ *           / \ / \ / \ / \
+ *          O - O - O - O - O
+ *           \ / \ / \ / \ /
+ * LOWER_LEFT O - O - O - O  LOWER_RIGHT
+ *             \ / \ / \ /
+ *              O - O - O
+ *            BOTTOM
+ * The corner cells are on two sides.
+ * Use one HexagonConnectivity for each player, and call place() whenever the player puts a stone on the board.
+ * Stones cannot be taken back, call clear() to start again.
+ */
+public class HexagonConnectivity {
+
+    /** The sides of the board, in clockwise order, opposite(side) is the side across the board. */
+    public static final int TOP = 0;
+    public static final int UPPER_RIGHT = 1;
+    public static final int LOWER_RIGHT = 2;
+    public static final int BOTTOM = 3;
+    public static final int LOWER_LEFT = 4;
+    public static final int UPPER_LEFT = 5;
+    public static final int SIDES = 6;
+
+    private final int size;
+    private final int cells;
+    private final int[] parent; // the parent of each cell
+    private final int[] groupSize; // the number of cells in the group of each root
+    private final byte[] sides; // the bit (1 << side) is set for each side that the group of each root touches
+    private final boolean[] placed;
+    private long joinedSides; // the bit (side * SIDES + other) is set for each pair of sides joined by one group
+    private final int[] neighbours; // room for the neighbours of one cell
+
+    /**
+     * Constructor method for a new HexagonConnectivity with no cells placed.
+     * @param sz the size of the board
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE
+     */
+    public HexagonConnectivity(int sz) {
+        if (sz < 0 || sz > HexagonLayout.MAX_SIZE) {
+            throw new RuntimeException("HexagonConnectivity must have size between 0 and " + HexagonLayout.MAX_SIZE);
+        } else {}
+        this.size = sz;
+        this.cells = HexagonLayout.cellCount(sz);
+        this.parent = new int[this.cells];
+        this.groupSize = new int[this.cells];
+        this.sides = new byte[this.cells];
+        this.placed = new boolean[this.cells];
+        this.neighbours = new int[HexagonLayout.DIRECTIONS];
+        this.clear();
+    }
+
+    /**
+     * @param side one of the six sides
+     * @return the side across the board from the given side, e.g. BOTTOM for TOP
+     */
+    public static int opposite(int side) {
+        return (side + SIDES / 2) % SIDES;
+    }
+
+    /**
+     * Take every stone off the board.
+     */
+    public void clear() {
+        for (int i = 0; i < this.parent.length; i++) {
+            this.parent[i] = i;
+            this.groupSize[i] = 1;
+        }
+        Arrays.fill(this.sides, (byte) 0);
+        Arrays.fill(this.placed, false);
+        this.joinedSides = 0;
+    }
+
+    /**
+     * Put one of the player's stones on a cell, joining it to the player's neighbouring stones and to the sides it lies on.
+     * Placing a stone on a cell that already has one does nothing.
+     * @param i the index of a cell in row-major order (see HexagonLayout.java)
+     * @precond 0 <= i < HexagonLayout.cellCount(size)
+     */
+    public void place(int i) {
+        if (i < 0 || i >= this.cells) {
+            throw new RuntimeException("A board of size " + this.size + " has no cell " + i);
+        }
+        else if (this.placed[i]) {
+            return;
+        } else {}
+        this.placed[i] = true;
+        int count = HexagonLayout.neighbours(this.size, i, this.neighbours);
+        // a cell with fewer than 6 neighbours is on the edge, find out which sides it is on
+        if (count < HexagonLayout.DIRECTIONS) {
+            int row = HexagonLayout.rowOf(this.size, i);
+            int col = i - HexagonLayout.rowStart(this.size, row);
+            int last = HexagonLayout.rowLength(this.size, row) - 1;
+            int mask = 0;
+            mask |= row == 0 ? 1 << TOP : 0;
+            mask |= row == 2 * this.size ? 1 << BOTTOM : 0;
+            mask |= col == 0 && row <= this.size ? 1 << UPPER_LEFT : 0;
+            mask |= col == 0 && row >= this.size ? 1 << LOWER_LEFT : 0;
+            mask |= col == last && row <= this.size ? 1 << UPPER_RIGHT : 0;
+            mask |= col == last && row >= this.size ? 1 << LOWER_RIGHT : 0;
+            this.sides[i] = (byte) mask;
+        } else {}
+        for (int k = 0; k < count; k++) {
+            if (this.placed[this.neighbours[k]]) {
+                this.union(i, this.neighbours[k]);
+            } else {}
+        }
+        this.joinSides(this.sides[this.find(i)]);
+    }
+
+    /**
+     * Remember that every pair of sides in mask is joined by one group.
+     */
+    private void joinSides(int mask) {
+        for (int side = 0; side < SIDES; side++) {
+            if ((mask & (1 << side)) != 0) {
+                for (int other = 0; other < SIDES; other++) {
+                    if ((mask & (1 << other)) != 0) {
+                        this.joinedSides |= 1L << (side * SIDES + other);
+                    } else {}
+                }
+            } else {}
+        }
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return true if the player has a stone on cell i
+     */
+    public boolean isPlaced(int i) {
+        return this.placed[i];
+    }
+
+    /**
+     * @param a the index of a cell in row-major order
+     * @param b the index of another cell in row-major order
+     * @return true if the player has stones on both cells and they are joined by a chain of the player's stones
+     */
+    public boolean connected(int a, int b) {
+        return this.placed[a] && this.placed[b] && this.find(a) == this.find(b);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @param side one of the six sides
+     * @return true if the player has a stone on cell i and it is joined to the side by a chain of the player's stones
+     */
+    public boolean connectedToSide(int i, int side) {
+        return this.placed[i] && (this.sides[this.find(i)] & (1 << side)) != 0;
+    }
+
+    /**
+     * @param side one of the six sides
+     * @param other another one of the six sides
+     * @return true if a chain of the player's stones joins the two sides, for example sidesConnected(TOP, BOTTOM)
+     *         is a win for the player trying to cross the board from top to bottom
+     */
+    public boolean sidesConnected(int side, int other) {
+        return (this.joinedSides & (1L << (side * SIDES + other))) != 0;
+    }
+
+    /**
+     * @return the root of the group of cell x, halving the path to the root along the way
+     */
+    private int find(int x) {
+        while (this.parent[x] != x) {
+            this.parent[x] = this.parent[this.parent[x]];
+            x = this.parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Join the groups of cells a and b, putting the smaller group under the bigger one.
+     */
+    private void union(int a, int b) {
+        int rootA = this.find(a);
+        int rootB = this.find(b);
+        if (rootA == rootB) {
+            return;
+        } else {}
+        if (this.groupSize[rootA] < this.groupSize[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        } else {}
+        this.parent[rootB] = rootA;
+        this.groupSize[rootA] += this.groupSize[rootB];
+        this.sides[rootA] |= this.sides[rootB];
+    }
+
+    /**
+     * @return the group number of every cell with a stone found by flood fill, -1 for cells without a stone, used for testing
+     */
+    private static int[] floodFill(int size, boolean[] placed) {
+        int[] group = new int[placed.length];
+        Arrays.fill(group, -1);
+        int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int start = 0; start < placed.length; start++) {
+            if (!placed[start] || group[start] >= 0) {
+                continue;
+            } else {}
+            group[start] = start;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int cell = queue.poll();
+                int count = HexagonLayout.neighbours(size, cell, neighbours);
+                for (int k = 0; k < count; k++) {
+                    if (placed[neighbours[k]] && group[neighbours[k]] < 0) {
+                        group[neighbours[k]] = start;
+                        queue.add(neighbours[k]);
+                    } else {}
+                }
+            }
+        }
+        return group;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonConnectivity.java");
+        int uErrors = 0; // unintentional errors
+
+        // test a chain down the left edge of a board of size 3, from the top to the bottom
+        int size = 3;
+        HexagonConnectivity player = new HexagonConnectivity(size);
+        for (int row = 0; row < 2 * size; row++) {
+            player.place(HexagonLayout.index(size, row, 0));
+        }
+        if (player.sidesConnected(TOP, BOTTOM) || !player.sidesConnected(TOP, LOWER_LEFT)
+                || !player.sidesConnected(UPPER_LEFT, LOWER_LEFT) || player.sidesConnected(TOP, UPPER_RIGHT)) {
+            System.out.println("Error: the chain down the left edge should join the top and the left sides but not the bottom");
+            uErrors += 1;
+        } else {}
+        player.place(HexagonLayout.index(size, 2 * size, 0));
+        if (!player.sidesConnected(TOP, opposite(TOP))) {
+            System.out.println("Error: the chain down the left edge should join the top and the bottom");
+            uErrors += 1;
+        } else {}
+        player.clear();
+        if (player.sidesConnected(TOP, BOTTOM) || player.isPlaced(0)) {
+            System.out.println("Error: clear() did not take every stone off the board");
+            uErrors += 1;
+        } else {}
+
+        // test that groups that only share a side do not join the other sides they touch
+        player.place(HexagonLayout.index(size, 0, 0));
+        player.place(HexagonLayout.index(size, size, 0));
+        player.place(HexagonLayout.index(size, 2 * size, 0));
+        if (player.sidesConnected(TOP, BOTTOM) || player.sidesConnected(TOP, LOWER_LEFT)
+                || !player.sidesConnected(UPPER_LEFT, LOWER_LEFT)) {
+            System.out.println("Error: three separate stones on the left edge should only join the two left sides");
+            uErrors += 1;
+        } else {}
+
+        // test that the only cell of a board of size 0 is on every side
+        HexagonConnectivity tiny = new HexagonConnectivity(0);
+        tiny.place(0);
+        for (int side = 0; side < SIDES; side++) {
+            if (!tiny.connectedToSide(0, side) || !tiny.sidesConnected(side, opposite(side))) {
+                System.out.println("Error: the only cell of a board of size 0 should be on side " + side);
+                uErrors += 1;
+            } else {}
+        }
+
+        // place random stones and check the groups against a flood fill after every stone
+        Random random = new Random(21);
+        for (size = 1; size <= 6; size++) {
+            int cells = HexagonLayout.cellCount(size);
+            player = new HexagonConnectivity(size);
+            boolean[] placed = new boolean[cells];
+            for (int move = 0; move < cells; move++) {
+                int cell = random.nextInt(cells);
+                player.place(cell);
+                placed[cell] = true;
+                int[] group = floodFill(size, placed);
+                for (int a = 0; a < cells; a++) {
+                    int b = random.nextInt(cells);
+                    boolean expected = placed[a] && placed[b] && group[a] == group[b];
+                    if (player.connected(a, b) != expected) {
+                        System.out.println("Error: connected(" + a + ", " + b + ") should return " + expected
+                                + " on a board of size " + size);
+                        uErrors += 1;
+                    } else {}
+                }
+                // a side is joined to a cell if some cell of the same group lies on the side
+                for (int side = 0; side < SIDES; side++) {
+                    for (int a = 0; a < cells; a++) {
+                        boolean expected = false;
+                        for (int b = 0; b < cells && placed[a]; b++) {
+                            expected = expected || (group[b] == group[a] && onSide(size, b, side));
+                        }
+                        if (player.connectedToSide(a, side) != expected) {
+                            System.out.println("Error: connectedToSide(" + a + ", " + side + ") should return " + expected
+                                    + " on a board of size " + size);
+                            uErrors += 1;
+                        } else {}
+                    }
+                }
+                for (int side = 0; side < SIDES; side++) {
+                    for (int other = 0; other < SIDES; other++) {
+                        boolean expected = false;
+                        for (int a = 0; a < cells; a++) {
+                            expected = expected || (player.connectedToSide(a, side) && player.connectedToSide(a, other));
+                        }
+                        if (player.sidesConnected(side, other) != expected) {
+                            System.out.println("Error: sidesConnected(" + side + ", " + other + ") should return " + expected
+                                    + " on a board of size " + size);
+                            uErrors += 1;
+                        } else {}
+                    }
+                }
+            }
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+
+    /**
+     * @return true if cell i lies on the given side, worked out from axial coordinates, used for testing
+     */
+    private static boolean onSide(int size, int i, int side) {
+        int q = HexagonCoordinates.qOf(size, i);
+        int r = HexagonCoordinates.rOf(size, i);
+        int s = HexagonCoordinates.s(q, r);
+        switch (side) {
+            case TOP: return r == -size;
+            case UPPER_RIGHT: return q == size;
+            case LOWER_RIGHT: return s == -size;
+            case BOTTOM: return r == size;
+            case LOWER_LEFT: return q == -size;
+            default: return s == size;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonCoordinates converts between the rows and columns of a board (see the top of HexagonBoard.java)
+ * and axial coordinates, which make the geometry of a hexagon board simple.
+ * Axial coordinates (q, r) of a cell count the moves from the centre cell:
+ * q goes up by one for each mid right move, and r goes up by one for each down right move.
+ *      (0,-2) (1,-2) (2,-2)
+ *   (-1,-1) (0,-1) (1,-1) (2,-1)
+ * (-2,0) (-1,0)  (0,0)  (1,0)  (2,0)
+ *   (-2,1)  (-1,1)  (0,1)  (1,1)
+ *      (-2,2) (-1,2) (0,2)
+ * These are the axial coordinates of the cells of a board of size 2.
+ *
+ * Unlike a column, q means the same thing in every row, so a move in one direction
+ * is always the same change to q and r (see dq() and dr()).
+ * Cube coordinates add a third coordinate s = -q - r, so that q + r + s = 0.
+ * A cell is on a board of size n if |q|, |r| and |s| are all at most n,
+ * and the number of moves between two cells is the biggest difference in q, r, or s.
+ */
+public final class HexagonCoordinates {
+
+    // the change in q and r for a move in each direction, in the order of the direction codes of HexagonLayout
+    private static final int[] DQ = {0, 1, -1, 1, -1, 0};
+    private static final int[] DR = {-1, -1, 0, 0, 1, 1};
+
+    private HexagonCoordinates() {
+    }
+
+    /**
+     * @param direction one of the direction codes of HexagonLayout
+     * @return the change in q for a move in the given direction
+     */
+    public static int dq(int direction) {
+        return DQ[direction];
+    }
+
+    /**
+     * @param direction one of the direction codes of HexagonLayout
+     * @return the change in r for a move in the given direction
+     */
+    public static int dr(int direction) {
+        return DR[direction];
+    }
+
+    /**
+     * @param size the size of the board
+     * @param row the row index of a cell
+     * @param col the column index of a cell
+     * @return the q coordinate of the cell
+     */
+    public static int q(int size, int row, int col) {
+        return col - size - Math.min(row - size, 0);
+    }
+
+    /**
+     * @param size the size of the board
+     * @param row the row index of a cell
+     * @return the r coordinate of the cells in the row
+     */
+    public static int r(int size, int row) {
+        return row - size;
+    }
+
+    /**
+     * @param q the q coordinate of a cell
+     * @param r the r coordinate of a cell
+     * @return the s coordinate of the cell, -q - r
+     */
+    public static int s(int q, int r) {
+        return -q - r;
+    }
+
+    /**
+     * @param size the size of the board
+     * @param r the r coordinate of a cell
+     * @return the row index of the cell
+     */
+    public static int row(int size, int r) {
+        return r + size;
+    }
+
+    /**
+     * @param size the size of the board
+     * @param q the q coordinate of a cell
+     * @param r the r coordinate of a cell
+     * @return the column index of the cell
+     */
+    public static int col(int size, int q, int r) {
+        return q + size + Math.min(r, 0);
+    }
+
+    /**
+     * @param size the size of the board
+     * @param q the q coordinate of a cell
+     * @param r the r coordinate of a cell
+     * @return true if the cell is on a board of the given size, false otherwise
+     */
+    public static boolean contains(int size, int q, int r) {
+        return Math.abs(q) <= size && Math.abs(r) <= size && Math.abs(q + r) <= size;
+    }
+
+    /**
+     * @param size the size of the board
+     * @param q the q coordinate of a cell
+     * @param r the r coordinate of a cell
+     * @return the index of the cell in row-major order (see HexagonLayout.java)
+     * @precond contains(size, q, r)
+     */
+    public static int index(int size, int q, int r) {
+        return HexagonLayout.rowStart(size, r + size) + q + size + Math.min(r, 0);
+    }
+
+    /**
+     * @param size the size of the board
+     * @param index the index of a cell in row-major order
+     * @return the q coordinate of the cell
+     * @precond 0 <= index < HexagonLayout.cellCount(size)
+     */
+    public static int qOf(int size, int index) {
+        int row = HexagonLayout.rowOf(size, index);
+        return q(size, row, index - HexagonLayout.rowStart(size, row));
+    }
+
+    /**
+     * @param size the size of the board
+     * @param index the index of a cell in row-major order
+     * @return the r coordinate of the cell
+     * @precond 0 <= index < HexagonLayout.cellCount(size)
+     */
+    public static int rOf(int size, int index) {
+        return HexagonLayout.rowOf(size, index) - size;
+    }
+
+    /**
+     * @return the number of moves between the cells (q1, r1) and (q2, r2)
+     */
+    public static int distance(int q1, int r1, int q2, int r2) {
+        int dq = q1 - q2;
+        int dr = r1 - r2;
+        return Math.max(Math.max(Math.abs(dq), Math.abs(dr)), Math.abs(dq + dr));
+    }
+
+    /**
+     * @param size the size of the board
+     * @param a the index of a cell in row-major order
+     * @param b the index of another cell in row-major order
+     * @return the number of moves between cell a and cell b
+     * @precond 0 <= a, b < HexagonLayout.cellCount(size)
+     */
+    public static int distance(int size, int a, int b) {
+        int rowA = HexagonLayout.rowOf(size, a);
+        int rowB = HexagonLayout.rowOf(size, b);
+        return distance(q(size, rowA, a - HexagonLayout.rowStart(size, rowA)), rowA - size,
+                q(size, rowB, b - HexagonLayout.rowStart(size, rowB)), rowB - size);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonCoordinates.java");
+        int uErrors = 0; // unintentional errors
+
+        // test the picture at the top of this file
+        if (q(2, 0, 0) != 0 || r(2, 0) != -2 || q(2, 2, 0) != -2 || q(2, 4, 2) != 0 || r(2, 4) != 2 || s(1, -2) != 1) {
+            System.out.println("Error: q(), r(), or s() does not match the picture at the top of HexagonCoordinates.java");
+            uErrors += 1;
+        } else {}
+
+        for (int size = 0; size <= 6; size++) {
+            int cells = HexagonLayout.cellCount(size);
+            int onBoard = 0;
+            for (int q = -size - 1; q <= size + 1; q++) {
+                for (int r = -size - 1; r <= size + 1; r++) {
+                    onBoard += contains(size, q, r) ? 1 : 0;
+                }
+            }
+            if (onBoard != cells) {
+                System.out.println("Error: contains() should be true for " + cells + " cells, but was true for " + onBoard);
+                uErrors += 1;
+            } else {}
+
+            for (int i = 0; i < cells; i++) {
+                // test that every conversion goes back to the same cell
+                int row = HexagonLayout.rowOf(size, i);
+                int col = HexagonLayout.colOf(size, i);
+                int q = qOf(size, i);
+                int r = rOf(size, i);
+                if (q != q(size, row, col) || r != r(size, row) || !contains(size, q, r) || index(size, q, r) != i
+                        || row(size, r) != row || col(size, q, r) != col) {
+                    System.out.println("Error: the coordinates of cell " + i + " of a board of size " + size
+                            + " do not convert back to it");
+                    uErrors += 1;
+                } else {}
+
+                // test that each move is the same change to q and r
+                for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+                    int n = HexagonLayout.neighbour(size, row, col, d);
+                    boolean onBoardMove = contains(size, q + dq(d), r + dr(d));
+                    if ((n >= 0) != onBoardMove || (n >= 0 && index(size, q + dq(d), r + dr(d)) != n)) {
+                        System.out.println("Error: direction " + d + " from cell " + i + " of a board of size " + size
+                                + " is not the change (" + dq(d) + ", " + dr(d) + ")");
+                        uErrors += 1;
+                    } else {}
+                }
+
+                // test distance() against a breadth first search from the cell
+                int[] moves = new int[cells];
+                Arrays.fill(moves, -1);
+                moves[i] = 0;
+                ArrayDeque<Integer> queue = new ArrayDeque<>();
+                queue.add(i);
+                int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+                while (!queue.isEmpty()) {
+                    int cell = queue.poll();
+                    int count = HexagonLayout.neighbours(size, cell, neighbours);
+                    for (int k = 0; k < count; k++) {
+                        if (moves[neighbours[k]] < 0) {
+                            moves[neighbours[k]] = moves[cell] + 1;
+                            queue.add(neighbours[k]);
+                        } else {}
+                    }
+                }
+                for (int j = 0; j < cells; j++) {
+                    if (distance(size, i, j) != moves[j]) {
+                        System.out.println("Error: distance(" + size + ", " + i + ", " + j + ") should return " + moves[j]
+                                + ", but returned " + distance(size, i, j));
+                        uErrors += 1;
+                    } else {}
+                }
+            }
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
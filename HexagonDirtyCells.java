@@ -0,0 +1,228 @@
+import java.io.IOException;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonDirtyCells remembers which cells of a board have changed since the board was last drawn,
+ * so that only those cells have to be drawn again.
+ * A cell is dirty if its item was set, or if the cursor moved onto it or off of it.
+ * Marking a cell and clearing the dirty cells both cost nothing for cells that did not change.
+ */
+public class HexagonDirtyCells {
+    private final int size;
+    private final boolean[] dirty; // true for each cell that is in list
+    private final int[] list; // the dirty cells, in the order they were marked
+    private int count;
+
+    /**
+     * Constructor method for a new HexagonDirtyCells, no cells start dirty.
+     * @param sz the size of the board
+     */
+    public HexagonDirtyCells(int sz) {
+        this.size = sz;
+        this.dirty = new boolean[HexagonLayout.cellCount(sz)];
+        this.list = new int[this.dirty.length];
+        this.count = 0;
+    }
+
+    /**
+     * Mark cell i as dirty.
+     * @param i the index of a cell in row-major order
+     */
+    public void mark(int i) {
+        if (!this.dirty[i]) {
+            this.dirty[i] = true;
+            this.list[this.count] = i;
+            this.count += 1;
+        } else {}
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return true if cell i is dirty, false otherwise
+     */
+    public boolean isDirty(int i) {
+        return this.dirty[i];
+    }
+
+    /**
+     * @return the number of dirty cells
+     */
+    public int count() {
+        return this.count;
+    }
+
+    /**
+     * @param k which dirty cell to return, 0 <= k < count()
+     * @return the index of the k'th dirty cell
+     */
+    public int get(int k) {
+        return this.list[k];
+    }
+
+    /**
+     * Make every cell clean again.
+     */
+    public void clear() {
+        for (int k = 0; k < this.count; k++) {
+            this.dirty[this.list[k]] = false;
+        }
+        this.count = 0;
+    }
+
+    /**
+     * @param row the row index of a cell
+     * @return the line of the board's picture that the row is drawn on, starting from 0
+     */
+    public static int line(int row) {
+        return 2 * row;
+    }
+
+    /**
+     * @param size the size of the board
+     * @param row the row index of a cell
+     * @param col the column index of a cell
+     * @return the position in its line of the board's picture that the cell is drawn at, starting from 0
+     */
+    public static int column(int size, int row, int col) {
+        return 2 * Math.abs(size - row) + 4 * col;
+    }
+
+    /**
+     * Write an ANSI escape sequence to out for each dirty cell, moving the terminal's cursor to the cell
+     * and drawing its character, then clear the dirty cells.
+     * The picture of the board is assumed to start at the top left corner of the terminal.
+     * Afterwards the terminal's cursor is left on the line below the picture.
+     * @param cursor the index of the board's current cell, which is drawn as a *
+     * @param glyphs the character for each cell, or null to draw every other cell as an O
+     * @param out where the escape sequences are written
+     * @throws IOException if out cannot be written to
+     */
+    public void render(int cursor, HexagonGlyphs glyphs, Appendable out) throws IOException {
+        if (this.count == 0) {
+            return;
+        } else {}
+        for (int k = 0; k < this.count; k++) {
+            int i = this.list[k];
+            int row = HexagonLayout.rowOf(this.size, i);
+            int col = i - HexagonLayout.rowStart(this.size, row);
+            moveTo(line(row), column(this.size, row, col), out);
+            if (i == cursor) {
+                out.append('*');
+            }
+            else {
+                out.append(glyphs == null ? 'O' : glyphs.glyph(i));
+            }
+        }
+        moveTo(line(2 * this.size) + 1, 0, out);
+        this.clear();
+    }
+
+    /**
+     * Write the ANSI escape sequence that moves the terminal's cursor to a line and column, both starting from 0.
+     */
+    private static void moveTo(int line, int column, Appendable out) throws IOException {
+        out.append("\u001b[");
+        out.append(Integer.toString(line + 1));
+        out.append(';');
+        out.append(Integer.toString(column + 1));
+        out.append('H');
+    }
+
+    /**
+     * Apply ANSI cursor moves and characters to a picture, like a terminal would, used for testing.
+     */
+    private static String applyPatches(String picture, String patches) {
+        String[] lines = picture.split("\n", -1);
+        StringBuilder[] screen = new StringBuilder[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            screen[i] = new StringBuilder(lines[i]);
+        }
+        int line = 0;
+        int column = 0;
+        int p = 0;
+        while (p < patches.length()) {
+            if (patches.charAt(p) == '\u001b') {
+                int semicolon = patches.indexOf(';', p);
+                int h = patches.indexOf('H', p);
+                line = Integer.parseInt(patches.substring(p + 2, semicolon)) - 1;
+                column = Integer.parseInt(patches.substring(semicolon + 1, h)) - 1;
+                p = h + 1;
+            }
+            else {
+                screen[line].setCharAt(column, patches.charAt(p));
+                column += 1;
+                p += 1;
+            }
+        }
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < screen.length; i++) {
+            result.append(screen[i]);
+            if (i < screen.length - 1) {
+                result.append('\n');
+            } else {}
+        }
+        return result.toString();
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonDirtyCells.java");
+        int uErrors = 0; // unintentional errors
+
+        // test mark() and clear()
+        HexagonDirtyCells cells = new HexagonDirtyCells(2);
+        cells.mark(3);
+        cells.mark(7);
+        cells.mark(3);
+        if (cells.count() != 2 || cells.get(0) != 3 || cells.get(1) != 7 || !cells.isDirty(7)) {
+            System.out.println("Error: mark() did not mark cells 3 and 7 once each");
+            uErrors += 1;
+        } else {}
+        cells.clear();
+        if (cells.count() != 0 || cells.isDirty(3)) {
+            System.out.println("Error: clear() did not make every cell clean");
+            uErrors += 1;
+        } else {}
+
+        // draw a board, change it, and check that the patches turn the old picture into the new one
+        try {
+            for (int size = 0; size <= 4; size++) {
+                IntHexagonBoard board = new IntHexagonBoard(size);
+                board.trackChanges();
+                HexagonGlyphs glyphs = i -> (char) ('0' + board.get(i));
+                StringBuilder picture = new StringBuilder();
+                board.render(picture, glyphs);
+
+                board.goUpRight();
+                board.setCurrentNodeItem(5);
+                board.goMidLeft();
+                board.set(0, 0, 7);
+                board.setCentreNodeItem(2);
+
+                StringBuilder patches = new StringBuilder();
+                board.renderChanges(patches, glyphs);
+                String expected = board.toString(glyphs);
+                String patched = applyPatches(picture.toString(), patches.toString());
+                if (!patched.equals(expected)) {
+                    System.out.println("Error: the patches for a board of size " + size + " gave\n" + patched
+                            + "instead of\n" + expected);
+                    uErrors += 1;
+                } else {}
+
+                patches.setLength(0);
+                board.renderChanges(patches, glyphs);
+                if (patches.length() != 0) {
+                    System.out.println("Error: renderChanges() wrote patches when nothing had changed");
+                    uErrors += 1;
+                } else {}
+            }
+        }
+        catch (IOException e) {
+            System.out.println("Error: HexagonDirtyCells method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
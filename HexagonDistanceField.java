@@ -0,0 +1,223 @@
+import java.util.function.IntPredicate;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A HexagonDistanceField finds the number of moves from the nearest of one or more source cells to every cell of a board,
+ * by a breadth first search that can be stopped by blocked cells.
+ * One HexagonDistanceField is made for a board size and used again and again:
+ * the queue of the search is an int array that is made once, and the cells that were reached are kept
+ * in a HexagonStamps, which is emptied in constant time before each search.
+ * So a search allocates nothing and only costs time for the cells it reaches.
+ */
+public class HexagonDistanceField {
+    private final int size;
+    private final HexagonTopology topology; // the shared neighbour table, null if the board is too big for one
+
+    private final int[] distance; // the distance of each cell, only meaningful if the cell is in reachedCells
+    private final HexagonStamps reachedCells; // the cells reached by the last search
+    private final int[] queue; // the cells in the order they were reached, the queue of the search
+    private int reached; // the number of cells in queue
+    private final int[] neighbours; // room for the neighbours of one cell
+    private final int[] source; // room for the source of compute(int)
+
+    /**
+     * Constructor method for a new HexagonDistanceField.
+     * @param sz the size of the board
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE
+     */
+    public HexagonDistanceField(int sz) {
+        if (sz < 0 || sz > HexagonLayout.MAX_SIZE) {
+            throw new RuntimeException("HexagonDistanceField must have size between 0 and " + HexagonLayout.MAX_SIZE);
+        } else {}
+        this.size = sz;
+        this.topology = HexagonTopology.ofOrNull(sz);
+        int cells = HexagonLayout.cellCount(sz);
+        this.distance = new int[cells];
+        this.reachedCells = new HexagonStamps(cells);
+        this.queue = new int[cells];
+        this.reached = 0;
+        this.neighbours = new int[HexagonLayout.DIRECTIONS];
+        this.source = new int[1];
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Find the number of moves from one cell to every cell of the board.
+     * @param source the index of a cell in row-major order
+     * @precond 0 <= source < HexagonLayout.cellCount(size())
+     */
+    public void compute(int source) {
+        this.source[0] = source;
+        this.compute(this.source, 1, null);
+    }
+
+    /**
+     * Find the number of moves from the nearest source cell to every cell of the board,
+     * moving only through cells that are passable.
+     * @param sources the indexes of the source cells in row-major order, the sources are passable even if passable says no
+     * @param count the number of source cells in sources
+     * @param passable true for the cells that can be moved through, or null if every cell can be moved through
+     * @precond every source is a cell on the board, if one is not the last search is kept
+     */
+    public void compute(int[] sources, int count, IntPredicate passable) {
+        for (int k = 0; k < count; k++) {
+            if (sources[k] < 0 || sources[k] >= this.distance.length) {
+                throw new RuntimeException("A board of size " + this.size + " has no cell " + sources[k]);
+            } else {}
+        }
+        HexagonStamps seen = this.reachedCells;
+        seen.clear();
+        int tail = 0;
+        for (int k = 0; k < count; k++) {
+            int s = sources[k];
+            if (!seen.contains(s)) {
+                seen.add(s);
+                this.distance[s] = 0;
+                this.queue[tail++] = s;
+            } else {}
+        }
+        for (int head = 0; head < tail; head++) {
+            int cell = this.queue[head];
+            int next = this.distance[cell] + 1;
+            int found = this.topology != null ? this.topology.neighbours(cell, this.neighbours)
+                    : HexagonLayout.neighbours(this.size, cell, this.neighbours);
+            for (int k = 0; k < found; k++) {
+                int n = this.neighbours[k];
+                if (!seen.contains(n) && (passable == null || passable.test(n))) {
+                    seen.add(n);
+                    this.distance[n] = next;
+                    this.queue[tail++] = n;
+                } else {}
+            }
+        }
+        this.reached = tail;
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the number of moves from the nearest source to cell i in the last search, or -1 if it was not reached
+     * @precond 0 <= i < HexagonLayout.cellCount(size())
+     */
+    public int distance(int i) {
+        return this.reachedCells.contains(i) ? this.distance[i] : -1;
+    }
+
+    /**
+     * @return the number of cells reached by the last search, including the sources
+     */
+    public int reachedCount() {
+        return this.reached;
+    }
+
+    /**
+     * @param k which reached cell to return, 0 <= k < reachedCount()
+     * @return the index of the k'th cell reached by the last search, the cells are in order of distance
+     */
+    public int reached(int k) {
+        return this.queue[k];
+    }
+
+    /**
+     * Copy the distance of every cell from the last search into out, -1 for the cells that were not reached.
+     * @param out where the distances are put, it must have room for every cell of the board
+     */
+    public void copyTo(int[] out) {
+        for (int i = 0; i < this.distance.length; i++) {
+            out[i] = this.distance(i);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonDistanceField.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that no cell is reached before the first search
+        HexagonDistanceField unused = new HexagonDistanceField(3);
+        if (unused.distance(5) != -1 || unused.reachedCount() != 0) {
+            System.out.println("Error: distance() should return -1 before the first search, but returned " + unused.distance(5));
+            uErrors += 1;
+        } else {}
+
+        // test one source against HexagonCoordinates.distance(), using one field for every search
+        for (int size = 0; size <= 6; size++) {
+            HexagonDistanceField field = new HexagonDistanceField(size);
+            int cells = HexagonLayout.cellCount(size);
+            for (int source = 0; source < cells; source++) {
+                field.compute(source);
+                for (int i = 0; i < cells; i++) {
+                    if (field.distance(i) != HexagonCoordinates.distance(size, source, i)) {
+                        System.out.println("Error: the distance from cell " + source + " to cell " + i + " of a board of size "
+                                + size + " should be " + HexagonCoordinates.distance(size, source, i) + ", but is "
+                                + field.distance(i));
+                        uErrors += 1;
+                    } else {}
+                }
+                if (field.reachedCount() != cells) {
+                    System.out.println("Error: the search from cell " + source + " should reach every cell");
+                    uErrors += 1;
+                } else {}
+            }
+        }
+
+        // test two sources and a wall, on a board of size 3 with the centre row blocked except for its last cell
+        int size = 3;
+        HexagonDistanceField field = new HexagonDistanceField(size);
+        int[] sources = {HexagonLayout.index(size, 0, 0), HexagonLayout.index(size, 0, 3), HexagonLayout.index(size, 0, 0)};
+        int lastOfCentreRow = HexagonLayout.index(size, 3, 6);
+        field.compute(sources, sources.length,
+                i -> HexagonLayout.rowOf(size, i) != size || i == lastOfCentreRow);
+        int[] out = new int[HexagonLayout.cellCount(size)];
+        field.copyTo(out);
+        if (out[HexagonLayout.index(size, 1, 1)] != 1 || out[HexagonLayout.index(size, 3, 0)] != -1
+                || out[lastOfCentreRow] != 3 || out[HexagonLayout.index(size, 4, 5)] != 4
+                || out[HexagonLayout.index(size, 6, 0)] != 9) {
+            System.out.println("Error: the distances around the wall are wrong");
+            uErrors += 1;
+        } else {}
+        for (int k = 1; k < field.reachedCount(); k++) {
+            if (field.distance(field.reached(k)) < field.distance(field.reached(k - 1))) {
+                System.out.println("Error: reached() is not in order of distance");
+                uErrors += 1;
+            } else {}
+        }
+
+        // test that a search with no sources reaches nothing, and that a source off the board keeps the last search
+        field.compute(0);
+        field.compute(sources, 0, null);
+        if (field.reachedCount() != 0 || field.distance(0) != -1) {
+            System.out.println("Error: a search with no sources should not reach any cell");
+            uErrors += 1;
+        } else {}
+        field.compute(4);
+        int[] offBoard = {0, HexagonLayout.cellCount(size)};
+        try {
+            field.compute(offBoard, offBoard.length, null);
+            System.out.println("Error: compute() did not throw an exception for a source off the board");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("compute() correctly caught exception for invalid input.");
+        }
+        if (field.distance(4) != 0 || field.distance(0) != HexagonCoordinates.distance(size, 4, 0)) {
+            System.out.println("Error: a source off the board should leave the last search as it was");
+            uErrors += 1;
+        } else {}
+
+        // test a board with about a million cells
+        HexagonDistanceField big = new HexagonDistanceField(577);
+        big.compute(0);
+        if (big.reachedCount() != HexagonLayout.cellCount(577) || big.distance(HexagonLayout.cellCount(577) - 1) != 2 * 577) {
+            System.out.println("Error: the search on a board of size 577 did not reach the far corner in " + 2 * 577 + " moves");
+            uErrors += 1;
+        } else {}
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonGlyphs picks the character that is drawn for each cell of a board,
+ * it is used by HexagonBoardRenderer instead of drawing every cell as an O.
+ * The current cell is always drawn as a *.
+ */
+public interface HexagonGlyphs {
+
+    /**
+     * @param index the index of a cell in row-major order (see HexagonLayout.java)
+     * @return the character to draw for the cell
+     */
+    char glyph(int index);
+}
@@ -0,0 +1,130 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A HexagonItemCodec turns the items of a board into bytes and back again,
+ * it is used by HexagonBoardIO to save and load boards.
+ * Null items are handled by HexagonBoardIO, so a codec is never given a null item.
+ */
+public interface HexagonItemCodec<I> {
+
+    /**
+     * @param item the item to be encoded
+     * @return the number of bytes encode() will write for item
+     */
+    int encodedLength(I item);
+
+    /**
+     * Write item into out, starting at its position.
+     * @param item the item to be encoded
+     * @param out the buffer to write to
+     * @precond out has at least encodedLength(item) bytes remaining
+     */
+    void encode(I item, ByteBuffer out);
+
+    /**
+     * Read an item from in, starting at its position.
+     * @param in the buffer to read from
+     * @param length the number of bytes that encode() wrote for the item
+     * @return the item that was read
+     * @precond in has at least length bytes remaining
+     */
+    I decode(ByteBuffer in, int length);
+
+    /** A codec for Integer items, each item is 4 bytes. */
+    HexagonItemCodec<Integer> INTEGER = new HexagonItemCodec<Integer>() {
+        public int encodedLength(Integer item) {
+            return Integer.BYTES;
+        }
+        public void encode(Integer item, ByteBuffer out) {
+            out.putInt(item);
+        }
+        public Integer decode(ByteBuffer in, int length) {
+            return in.getInt();
+        }
+    };
+
+    /** A codec for Long items, each item is 8 bytes. */
+    HexagonItemCodec<Long> LONG = new HexagonItemCodec<Long>() {
+        public int encodedLength(Long item) {
+            return Long.BYTES;
+        }
+        public void encode(Long item, ByteBuffer out) {
+            out.putLong(item);
+        }
+        public Long decode(ByteBuffer in, int length) {
+            return in.getLong();
+        }
+    };
+
+    /** A codec for String items, each item is written in UTF-8 without making a byte array. */
+    HexagonItemCodec<String> STRING = new HexagonItemCodec<String>() {
+        public int encodedLength(String item) {
+            int length = 0;
+            for (int i = 0; i < item.length(); i++) {
+                char c = item.charAt(i);
+                if (c < 0x80) {
+                    length += 1;
+                }
+                else if (c < 0x800) {
+                    length += 2;
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < item.length()
+                        && Character.isLowSurrogate(item.charAt(i + 1))) {
+                    length += 4;
+                    i += 1;
+                }
+                else if (Character.isSurrogate(c)) {
+                    length += 1; // an unpaired surrogate is written as '?', the same as String.getBytes()
+                }
+                else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+        public void encode(String item, ByteBuffer out) {
+            for (int i = 0; i < item.length(); i++) {
+                char c = item.charAt(i);
+                if (c < 0x80) {
+                    out.put((byte) c);
+                }
+                else if (c < 0x800) {
+                    out.put((byte) (0xc0 | (c >> 6)));
+                    out.put((byte) (0x80 | (c & 0x3f)));
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < item.length()
+                        && Character.isLowSurrogate(item.charAt(i + 1))) {
+                    int p = Character.toCodePoint(c, item.charAt(i + 1));
+                    out.put((byte) (0xf0 | (p >> 18)));
+                    out.put((byte) (0x80 | ((p >> 12) & 0x3f)));
+                    out.put((byte) (0x80 | ((p >> 6) & 0x3f)));
+                    out.put((byte) (0x80 | (p & 0x3f)));
+                    i += 1;
+                }
+                else if (Character.isSurrogate(c)) {
+                    out.put((byte) '?');
+                }
+                else {
+                    out.put((byte) (0xe0 | (c >> 12)));
+                    out.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                    out.put((byte) (0x80 | (c & 0x3f)));
+                }
+            }
+        }
+        public String decode(ByteBuffer in, int length) {
+            if (in.hasArray()) {
+                String item = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+                return item;
+            }
+            else {
+                byte[] bytes = new byte[length];
+                in.get(bytes, 0, length);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+    };
+}
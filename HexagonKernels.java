@@ -0,0 +1,218 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonKernels are the loops over byte arrays that the primitive boards spend most of their time in:
+ * counting the live neighbours of a row of cells, stepping a row of cells of a cellular automaton,
+ * filling, counting the cells equal to a value, and counting the cells where two boards differ.
+ *
+ * The methods of this class are the plain scalar loops, and they work on every JVM.
+ * HexagonVectorKernels (in the vector directory) does the same work with the jdk.incubator.vector API,
+ * which runs one instruction over 16 to 64 cells at a time. It is compiled and run separately with
+ * --add-modules jdk.incubator.vector (see README.md), and best() loads it by name if it is there,
+ * so the rest of the boards build and run without the incubator module.
+ *
+ * The neighbour kernels work on buffers laid out in axial coordinates with a border of cells that are always 0,
+ * like the buffers of HexagonAutomaton, so the neighbours of the cell at p are at
+ * p - width, p - width + 1, p - 1, p + 1, p + width - 1 and p + width.
+ */
+public class HexagonKernels {
+
+    /** Rule tables at least this long can be looked up with one vector shuffle, see HexagonVectorKernels.java. */
+    public static final int TABLE_LENGTH = 64;
+
+    private static final HexagonKernels SCALAR = new HexagonKernels();
+    private static final HexagonKernels BEST = load();
+
+    /**
+     * Constructor method for HexagonKernels, use scalar() or best() to get the shared kernels.
+     */
+    protected HexagonKernels() {
+    }
+
+    /**
+     * @return the scalar kernels
+     */
+    public static HexagonKernels scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * @return the vector kernels if HexagonVectorKernels was compiled and the incubator module was added,
+     *         otherwise the scalar kernels. Running with -Dhexagon.kernels=scalar always picks the scalar kernels.
+     */
+    public static HexagonKernels best() {
+        return BEST;
+    }
+
+    /**
+     * Load HexagonVectorKernels by name, so that this class does not need the incubator module to compile.
+     */
+    private static HexagonKernels load() {
+        if ("scalar".equals(System.getProperty("hexagon.kernels"))) {
+            return SCALAR;
+        } else {}
+        try {
+            return (HexagonKernels) Class.forName("HexagonVectorKernels").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            // not compiled, or the JVM was started without --add-modules jdk.incubator.vector
+            return SCALAR;
+        }
+    }
+
+    /**
+     * @return a short name for the kernels, such as "scalar" or "vector 512 bits"
+     */
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * Count the live neighbours, which are the neighbours that are not 0, of every cell from from up to but not including to.
+     * @param cells a buffer of states in axial coordinates with a border of 0s, every state is at least 0
+     * @param width the number of bytes in every row of the buffer
+     * @param from the first cell to count for
+     * @param to the cell after the last cell to count for
+     * @param counts where the counts are put, counts[p] for the cell at p
+     * @precond from >= width and to + width <= cells.length
+     */
+    public void liveCounts(byte[] cells, int width, int from, int to, byte[] counts) {
+        for (int p = from; p < to; p++) {
+            counts[p] = (byte) liveAround(cells, width, p);
+        }
+    }
+
+    /**
+     * Step the cells from from up to but not including to of a cellular automaton:
+     * out[p] = table[7 * cells[p] + the number of live neighbours of p]
+     * @param cells a buffer of states in axial coordinates with a border of 0s, every state is at least 0
+     * @param width the number of bytes in every row of the buffer
+     * @param table the next state of each state and live count, see HexagonAutomaton.java,
+     *              the vector kernels are only fast when it is padded to at least TABLE_LENGTH
+     * @param from the first cell to step
+     * @param to the cell after the last cell to step
+     * @param out where the next states are put
+     * @precond from >= width, to + width <= cells.length, and every state has a row in table
+     */
+    public void step(byte[] cells, int width, byte[] table, int from, int to, byte[] out) {
+        for (int p = from; p < to; p++) {
+            out[p] = table[7 * cells[p] + liveAround(cells, width, p)];
+        }
+    }
+
+    /**
+     * @return the number of neighbours of the cell at p that are not 0
+     */
+    private static int liveAround(byte[] cells, int width, int p) {
+        // a state is never negative, so -state >>> 31 is 1 for a live neighbour and 0 for state 0
+        return (-cells[p - width] >>> 31) + (-cells[p - width + 1] >>> 31) + (-cells[p - 1] >>> 31)
+                + (-cells[p + 1] >>> 31) + (-cells[p + width - 1] >>> 31) + (-cells[p + width] >>> 31);
+    }
+
+    /**
+     * Set every byte from from up to but not including to equal to value.
+     */
+    public void fill(byte[] a, int from, int to, byte value) {
+        Arrays.fill(a, from, to, value);
+    }
+
+    /**
+     * @return the number of bytes from from up to but not including to that are equal to value
+     */
+    public int countEqual(byte[] a, int from, int to, byte value) {
+        int count = 0;
+        for (int p = from; p < to; p++) {
+            count += a[p] == value ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of places from from up to but not including to where a and b hold different bytes
+     */
+    public int diff(byte[] a, byte[] b, int from, int to) {
+        int count = 0;
+        for (int p = from; p < to; p++) {
+            count += a[p] != b[p] ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Check that the given kernels give the same answers as the scalar kernels on random buffers.
+     * @param kernels the kernels to check
+     * @return the number of kernels that gave a different answer
+     */
+    static int check(HexagonKernels kernels) {
+        int errors = 0;
+        Random random = new Random(25);
+        for (int size = 0; size <= 40; size += 5) {
+            int width = 2 * size + 3;
+            // 3 states with a padded table, or 13 states so that some cells are too high for one vector shuffle
+            int states = size % 2 == 0 ? 3 : 13;
+            byte[] cells = new byte[width * width];
+            for (int p = width; p < cells.length - width; p++) {
+                cells[p] = (byte) (random.nextInt(3) == 0 ? random.nextInt(states) : 0);
+            }
+            byte[] table = new byte[Math.max(7 * states, TABLE_LENGTH)];
+            for (int k = 0; k < 7 * states; k++) {
+                table[k] = (byte) random.nextInt(states);
+            }
+            // start and end part way through a row, so that the loops have a tail
+            int from = width + 1;
+            int to = cells.length - width - 1;
+            byte[] expected = new byte[cells.length];
+            byte[] actual = new byte[cells.length];
+            SCALAR.liveCounts(cells, width, from, to, expected);
+            kernels.liveCounts(cells, width, from, to, actual);
+            if (!Arrays.equals(expected, actual)) {
+                System.out.println("Error: " + kernels.name() + " liveCounts() is wrong for a buffer of width " + width);
+                errors += 1;
+            } else {}
+            SCALAR.step(cells, width, table, from, to, expected);
+            kernels.step(cells, width, table, from, to, actual);
+            if (!Arrays.equals(expected, actual)) {
+                System.out.println("Error: " + kernels.name() + " step() is wrong for a buffer of width " + width);
+                errors += 1;
+            } else {}
+            if (kernels.countEqual(cells, from, to, (byte) 1) != SCALAR.countEqual(cells, from, to, (byte) 1)
+                    || kernels.diff(cells, expected, from, to) != SCALAR.diff(cells, expected, from, to)) {
+                System.out.println("Error: " + kernels.name() + " countEqual() or diff() is wrong for a buffer of width " + width);
+                errors += 1;
+            } else {}
+            kernels.fill(actual, from, to, (byte) 5);
+            if (SCALAR.countEqual(actual, from, to, (byte) 5) != to - from || actual[from - 1] == 5 || actual[to] == 5) {
+                System.out.println("Error: " + kernels.name() + " fill() is wrong for a buffer of width " + width);
+                errors += 1;
+            } else {}
+        }
+        return errors;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonKernels.java");
+        int uErrors = 0; // unintentional errors
+
+        // test a live count by hand: the cell in the middle of a 5 by 5 buffer with 3 live neighbours
+        byte[] cells = new byte[25];
+        cells[12 - 5] = 2;
+        cells[12 - 1] = 1;
+        cells[12 + 4] = 1;
+        cells[12 + 1] = 0;
+        byte[] counts = new byte[25];
+        scalar().liveCounts(cells, 5, 12, 13, counts);
+        if (counts[12] != 3) {
+            System.out.println("Error: liveCounts() should count 3 live neighbours, but counted " + counts[12]);
+            uErrors += 1;
+        } else {}
+
+        // test the best kernels against the scalar ones, which tests nothing more if the best kernels are the scalar ones
+        System.out.println("best() kernels are " + best().name());
+        uErrors += check(best());
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
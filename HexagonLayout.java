@@ -0,0 +1,386 @@
+import java.util.function.IntConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonLayout holds the arithmetic for the row and column scheme described at the top of HexagonBoard.java.
+ * Every cell of a HexagonBoard of size n is given an index in row-major order:
+ *      0 - 1 - 2
+ *    3 - 4 - 5 - 6
+ *  7 - 8 - 9 -10 -11
+ *   12 -13 -14 -15
+ *     16 -17 -18
+ * This is the cell indexing of a HexagonBoard of size 2.
+ *
+ * Number of cells = 3n(n + 1) + 1
+ * First index of row r (r <= n) = r(n + 1) + r(r - 1)/2
+ * Rows below the middle row are a mirror image of the rows above it,
+ * so cell i in the bottom half is found by looking up cell (cellCount - 1 - i) in the top half.
+ */
+public final class HexagonLayout {
+
+    /** Direction codes, in the same order as the next nodes of a HexagonNode. */
+    public static final int UP_LEFT = 0;
+    public static final int UP_RIGHT = 1;
+    public static final int MID_LEFT = 2;
+    public static final int MID_RIGHT = 3;
+    public static final int DOWN_LEFT = 4;
+    public static final int DOWN_RIGHT = 5;
+    public static final int DIRECTIONS = 6;
+
+    /** The biggest size whose cells can all be given an int index, 3n(n + 1) + 1 <= Integer.MAX_VALUE. */
+    public static final int MAX_SIZE = 26754;
+
+    private HexagonLayout() {
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @return the number of cells on a HexagonBoard of the given size
+     */
+    public static int cellCount(int size) {
+        return 3 * size * (size + 1) + 1;
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @return the number of rows on a HexagonBoard of the given size
+     */
+    public static int rowCount(int size) {
+        return 2 * size + 1;
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @param row the row index
+     * @return the number of cells in the given row
+     * @precond 0 <= row <= 2 * size
+     */
+    public static int rowLength(int size, int row) {
+        if (row <= size) {
+            return size + 1 + row;
+        }
+        else {
+            return size + 1 + (2 * size - row);
+        }
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @param row the row index
+     * @return the index of the first cell in the given row
+     * @precond 0 <= row <= 2 * size + 1
+     */
+    public static int rowStart(int size, int row) {
+        if (row <= size + 1) {
+            return row * (size + 1) + row * (row - 1) / 2;
+        }
+        else {
+            // count the cells that are in this row or below it
+            int m = 2 * size - row + 1;
+            return cellCount(size) - (m * (size + 1) + m * (m - 1) / 2);
+        }
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @param row the row index
+     * @param col the column index
+     * @return true if (row, col) is a cell on a HexagonBoard of the given size, false otherwise
+     */
+    public static boolean contains(int size, int row, int col) {
+        return row >= 0 && row <= 2 * size && col >= 0 && col < rowLength(size, row);
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @param row the row index
+     * @param col the column index
+     * @return the index of the cell at (row, col)
+     * @precond contains(size, row, col)
+     */
+    public static int index(int size, int row, int col) {
+        return rowStart(size, row) + col;
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @param index the index of a cell
+     * @return the row index of the cell
+     * @precond 0 <= index < cellCount(size)
+     */
+    public static int rowOf(int size, int index) {
+        if (index < rowStart(size, size + 1)) {
+            return topRowOf(size, index);
+        }
+        else {
+            return 2 * size - topRowOf(size, cellCount(size) - 1 - index);
+        }
+    }
+
+    /**
+     * @param size the size of the HexagonBoard
+     * @param index the index of a cell
+     * @return the column index of the cell
+     * @precond 0 <= index < cellCount(size)
+     */
+    public static int colOf(int size, int index) {
+        return index - rowStart(size, rowOf(size, index));
+    }
+
+    /**
+     * Find the row of a cell that is in the top half (or the middle row) of the board
+     * by solving r(n + 1) + r(r - 1)/2 <= index for the largest r.
+     */
+    private static int topRowOf(int size, int index) {
+        long b = 2L * size + 1;
+        int r = (int) ((Math.sqrt((double) (b * b + 8L * index)) - b) / 2);
+        // correct for any floating point rounding
+        while (r > 0 && rowStart(size, r) > index) {
+            r -= 1;
+        }
+        while (rowStart(size, r + 1) <= index) {
+            r += 1;
+        }
+        return r;
+    }
+
+    /**
+     * Find the neighbouring cell of (row, col) in the given direction.
+     * @param size the size of the HexagonBoard
+     * @param row the row index
+     * @param col the column index
+     * @param direction one of UP_LEFT, UP_RIGHT, MID_LEFT, MID_RIGHT, DOWN_LEFT, or DOWN_RIGHT
+     * @return the index of the neighbouring cell, or -1 if there is no cell in that direction
+     * @precond contains(size, row, col)
+     */
+    public static int neighbour(int size, int row, int col, int direction) {
+        int last = rowLength(size, row) - 1;
+        switch (direction) {
+            case UP_LEFT:
+                if (row == 0 || (row <= size && col == 0)) {
+                    return -1;
+                }
+                return index(size, row - 1, row <= size ? col - 1 : col);
+            case UP_RIGHT:
+                if (row == 0 || (row <= size && col == last)) {
+                    return -1;
+                }
+                return index(size, row - 1, row <= size ? col : col + 1);
+            case MID_LEFT:
+                if (col == 0) {
+                    return -1;
+                }
+                return index(size, row, col - 1);
+            case MID_RIGHT:
+                if (col == last) {
+                    return -1;
+                }
+                return index(size, row, col + 1);
+            case DOWN_LEFT:
+                if (row == 2 * size || (row >= size && col == 0)) {
+                    return -1;
+                }
+                return index(size, row + 1, row >= size ? col - 1 : col);
+            case DOWN_RIGHT:
+                if (row == 2 * size || (row >= size && col == last)) {
+                    return -1;
+                }
+                return index(size, row + 1, row >= size ? col : col + 1);
+            default:
+                throw new RuntimeException("Invalid direction " + direction);
+        }
+    }
+
+    /**
+     * Put the index of every neighbouring cell of a cell into out,
+     * in the order UP_LEFT, UP_RIGHT, MID_LEFT, MID_RIGHT, DOWN_LEFT, DOWN_RIGHT, skipping the ones that are not on the board.
+     * The neighbours are worked out from the length of the cell's row, so only the row of the cell has to be found.
+     * @param size the size of the HexagonBoard
+     * @param cell the index of a cell
+     * @param out where the indexes of the neighbours are put, it must have room for 6
+     * @return the number of neighbours put into out
+     * @precond 0 <= cell < cellCount(size)
+     */
+    public static int neighbours(int size, int cell, int[] out) {
+        int row = rowOf(size, cell);
+        int col = cell - rowStart(size, row);
+        int last = rowLength(size, row) - 1;
+        int up = row <= size ? cell - last - 1 : cell - last - 2; // the up left neighbour, the up right one is next to it
+        int down = row < size ? cell + last + 1 : cell + last; // the down left neighbour, the down right one is next to it
+        int count = 0;
+        if (row > 0 && (row > size || col > 0)) {
+            out[count++] = up;
+        } else {}
+        if (row > 0 && (row > size || col < last)) {
+            out[count++] = up + 1;
+        } else {}
+        if (col > 0) {
+            out[count++] = cell - 1;
+        } else {}
+        if (col < last) {
+            out[count++] = cell + 1;
+        } else {}
+        if (row < 2 * size && (row < size || col > 0)) {
+            out[count++] = down;
+        } else {}
+        if (row < 2 * size && (row < size || col < last)) {
+            out[count++] = down + 1;
+        } else {}
+        return count;
+    }
+
+    /**
+     * Give the index of every neighbouring cell of a cell to action,
+     * in the order UP_LEFT, UP_RIGHT, MID_LEFT, MID_RIGHT, DOWN_LEFT, DOWN_RIGHT, skipping the ones that are not on the board.
+     * @param size the size of the HexagonBoard
+     * @param cell the index of a cell
+     * @param action what to do with the index of each neighbour
+     * @precond 0 <= cell < cellCount(size)
+     */
+    public static void forEachNeighbour(int size, int cell, IntConsumer action) {
+        int row = rowOf(size, cell);
+        int col = cell - rowStart(size, row);
+        int last = rowLength(size, row) - 1;
+        int up = row <= size ? cell - last - 1 : cell - last - 2;
+        int down = row < size ? cell + last + 1 : cell + last;
+        if (row > 0 && (row > size || col > 0)) {
+            action.accept(up);
+        } else {}
+        if (row > 0 && (row > size || col < last)) {
+            action.accept(up + 1);
+        } else {}
+        if (col > 0) {
+            action.accept(cell - 1);
+        } else {}
+        if (col < last) {
+            action.accept(cell + 1);
+        } else {}
+        if (row < 2 * size && (row < size || col > 0)) {
+            action.accept(down);
+        } else {}
+        if (row < 2 * size && (row < size || col < last)) {
+            action.accept(down + 1);
+        } else {}
+    }
+
+    /**
+     * @param direction one of UP_LEFT, UP_RIGHT, MID_LEFT, MID_RIGHT, DOWN_LEFT, or DOWN_RIGHT
+     * @return the direction that points the opposite way, e.g. DOWN_RIGHT for UP_LEFT
+     */
+    public static int opposite(int direction) {
+        return DIRECTIONS - 1 - direction;
+    }
+
+    /**
+     * Move the cursor of a HexagonBoard in the given direction, used for testing.
+     */
+    private static boolean move(HexagonBoard<?> board, int direction) {
+        switch (direction) {
+            case UP_LEFT: return board.goUpLeft();
+            case UP_RIGHT: return board.goUpRight();
+            case MID_LEFT: return board.goMidLeft();
+            case MID_RIGHT: return board.goMidRight();
+            case DOWN_LEFT: return board.goDownLeft();
+            default: return board.goDownRight();
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonLayout.java");
+        int uErrors = 0; // unintentional errors
+
+        // test cellCount()
+        if (cellCount(0) != 1 || cellCount(1) != 7 || cellCount(2) != 19) {
+            System.out.println("Error: cellCount() returned the wrong number of cells.");
+            uErrors += 1;
+        } else {}
+
+        // test that index(), rowOf(), and colOf() agree with each other on every cell
+        for (int size = 0; size <= 30; size++) {
+            int expected = 0;
+            for (int row = 0; row <= 2 * size; row++) {
+                for (int col = 0; col < rowLength(size, row); col++) {
+                    if (index(size, row, col) != expected) {
+                        System.out.println("Error: index(" + size + ", " + row + ", " + col + ") should return "
+                                + expected + ", but returned " + index(size, row, col));
+                        uErrors += 1;
+                    } else {}
+                    if (rowOf(size, expected) != row || colOf(size, expected) != col) {
+                        System.out.println("Error: rowOf() or colOf() returned the wrong cell for index " + expected);
+                        uErrors += 1;
+                    } else {}
+                    expected += 1;
+                }
+            }
+            if (expected != cellCount(size)) {
+                System.out.println("Error: the rows of a board of size " + size + " do not add up to cellCount()");
+                uErrors += 1;
+            } else {}
+        }
+
+        // test neighbours() and forEachNeighbour() against neighbour() on every cell
+        int[] found = new int[DIRECTIONS];
+        int[] visited = new int[DIRECTIONS + 1];
+        for (int size = 0; size <= 12; size++) {
+            for (int i = 0; i < cellCount(size); i++) {
+                int count = neighbours(size, i, found);
+                visited[0] = 0;
+                forEachNeighbour(size, i, n -> visited[++visited[0]] = n);
+                int expected = 0;
+                boolean same = visited[0] == count;
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int n = neighbour(size, rowOf(size, i), colOf(size, i), d);
+                    if (n >= 0) {
+                        same = same && expected < count && found[expected] == n && visited[expected + 1] == n;
+                        expected += 1;
+                    } else {}
+                }
+                if (!same || count != expected) {
+                    System.out.println("Error: neighbours() or forEachNeighbour() returned the wrong cells for cell " + i
+                            + " of a board of size " + size);
+                    uErrors += 1;
+                } else {}
+            }
+        }
+
+        // test neighbour() against the nodes of a HexagonBoard by moving its cursor
+        HexagonBoard<Integer> board = new HexagonBoard<>(3);
+        for (int row = 0; row <= 6; row++) {
+            for (int col = 0; col < rowLength(3, row); col++) {
+                // walk the cursor from the centre to (row, col)
+                board.goCentre();
+                while (board.row() > row) {
+                    if (!board.goUpLeft()) {
+                        board.goUpRight();
+                    } else {}
+                }
+                while (board.row() < row) {
+                    if (!board.goDownLeft()) {
+                        board.goDownRight();
+                    } else {}
+                }
+                while (board.col() > col) {
+                    board.goMidLeft();
+                }
+                while (board.col() < col) {
+                    board.goMidRight();
+                }
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int moved = -1;
+                    if (move(board, d)) {
+                        moved = index(3, board.row(), board.col());
+                        move(board, opposite(d)); // move back the way you came
+                    } else {}
+                    if (moved != neighbour(3, row, col, d)) {
+                        System.out.println("Error: neighbour(3, " + row + ", " + col + ", " + d
+                                + ") should return " + moved + ", but returned " + neighbour(3, row, col, d));
+                        uErrors += 1;
+                    } else {}
+                }
+            }
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,181 @@
+import java.util.function.IntPredicate;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonLines finds the cells on the straight line between two cells, and whether one cell can see another.
+ * The line from cell a to cell b has one cell for every move between them plus one (see HexagonCoordinates.distance()).
+ * Each cell of the line is found by going a fraction of the way from a to b in cube coordinates
+ * and rounding to the nearest cell: each coordinate is rounded, and the one that was rounded the most
+ * is set back to minus the sum of the other two so that q + r + s = 0 still holds.
+ * The line is moved a tiny amount to one side before rounding, so a line that runs exactly along the edge
+ * between two cells always picks the same side.
+ *
+ * A cell can see another cell if no cell on the line between them is blocked, not counting the two cells themselves.
+ */
+public final class HexagonLines {
+
+    // the tiny amounts the line is moved to one side, they add up to 0 so the moved point still has q + r + s = 0
+    private static final double NUDGE_Q = 1e-6;
+    private static final double NUDGE_R = 2e-6;
+    private static final double NUDGE_S = -3e-6;
+
+    private HexagonLines() {
+    }
+
+    /**
+     * Put the cells on the line from cell a to cell b into out, in order from a to b.
+     * @param size the size of the board
+     * @param a the index of the first cell in row-major order (see HexagonLayout.java)
+     * @param b the index of the last cell in row-major order
+     * @param out where the cells of the line are put, it must have room for HexagonCoordinates.distance(size, a, b) + 1 cells
+     * @return the number of cells put into out
+     * @precond a and b are cells on the board
+     */
+    public static int line(int size, int a, int b, int[] out) {
+        int aq = HexagonCoordinates.qOf(size, a);
+        int ar = HexagonCoordinates.rOf(size, a);
+        int bq = HexagonCoordinates.qOf(size, b);
+        int br = HexagonCoordinates.rOf(size, b);
+        int moves = HexagonCoordinates.distance(aq, ar, bq, br);
+        out[0] = a;
+        for (int k = 1; k <= moves; k++) {
+            out[k] = cellOnLine(size, aq, ar, bq, br, k, moves);
+        }
+        return moves + 1;
+    }
+
+    /**
+     * Check which of the targets can be seen from the source.
+     * The coordinates of the source are only worked out once, and the lines are walked without being stored,
+     * so checking many targets from one source costs only the length of each line.
+     * @param size the size of the board
+     * @param source the index of the cell that is looking
+     * @param targets the indexes of the cells that are looked at
+     * @param count the number of targets
+     * @param blocked true for the cells that cannot be seen through
+     * @param visible where the answer for each target is put, true if nothing between the source and the target is blocked
+     * @return the number of targets that can be seen
+     * @precond source and every target are cells on the board
+     */
+    public static int lineOfSight(int size, int source, int[] targets, int count, IntPredicate blocked, boolean[] visible) {
+        int sq = HexagonCoordinates.qOf(size, source);
+        int sr = HexagonCoordinates.rOf(size, source);
+        int seen = 0;
+        for (int t = 0; t < count; t++) {
+            int tq = HexagonCoordinates.qOf(size, targets[t]);
+            int tr = HexagonCoordinates.rOf(size, targets[t]);
+            int moves = HexagonCoordinates.distance(sq, sr, tq, tr);
+            boolean clear = true;
+            for (int k = 1; k < moves && clear; k++) {
+                clear = !blocked.test(cellOnLine(size, sq, sr, tq, tr, k, moves));
+            }
+            visible[t] = clear;
+            seen += clear ? 1 : 0;
+        }
+        return seen;
+    }
+
+    /**
+     * @param size the size of the board
+     * @param source the index of the cell that is looking
+     * @param target the index of the cell that is looked at
+     * @param blocked true for the cells that cannot be seen through
+     * @return true if nothing between source and target is blocked
+     */
+    public static boolean lineOfSight(int size, int source, int target, IntPredicate blocked) {
+        int sq = HexagonCoordinates.qOf(size, source);
+        int sr = HexagonCoordinates.rOf(size, source);
+        int tq = HexagonCoordinates.qOf(size, target);
+        int tr = HexagonCoordinates.rOf(size, target);
+        int moves = HexagonCoordinates.distance(sq, sr, tq, tr);
+        for (int k = 1; k < moves; k++) {
+            if (blocked.test(cellOnLine(size, sq, sr, tq, tr, k, moves))) {
+                return false;
+            } else {}
+        }
+        return true;
+    }
+
+    /**
+     * @return the index of the cell k moves along the line from (aq, ar) to (bq, br), which is the given number of moves long
+     */
+    private static int cellOnLine(int size, int aq, int ar, int bq, int br, int k, int moves) {
+        double t = (double) k / moves;
+        double q = aq + NUDGE_Q + (bq - aq) * t;
+        double r = ar + NUDGE_R + (br - ar) * t;
+        double s = -aq - ar + NUDGE_S + (aq + ar - bq - br) * t;
+        long rq = Math.round(q);
+        long rr = Math.round(r);
+        long rs = Math.round(s);
+        double dq = Math.abs(rq - q);
+        double dr = Math.abs(rr - r);
+        double ds = Math.abs(rs - s);
+        if (dq > dr && dq > ds) {
+            rq = -rr - rs;
+        }
+        else if (dr > ds) {
+            rr = -rq - rs;
+        } else {}
+        return HexagonCoordinates.index(size, (int) rq, (int) rr);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonLines.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that every line is a chain of neighbours on the board, from a to b, as short as possible
+        for (int size = 0; size <= 5; size++) {
+            int cells = HexagonLayout.cellCount(size);
+            int[] out = new int[2 * size + 1];
+            for (int a = 0; a < cells; a++) {
+                for (int b = 0; b < cells; b++) {
+                    int length = line(size, a, b, out);
+                    boolean chain = length == HexagonCoordinates.distance(size, a, b) + 1
+                            && out[0] == a && out[length - 1] == b;
+                    for (int k = 1; k < length && chain; k++) {
+                        chain = out[k] >= 0 && out[k] < cells && HexagonCoordinates.distance(size, out[k - 1], out[k]) == 1;
+                    }
+                    if (!chain) {
+                        System.out.println("Error: the line from cell " + a + " to cell " + b + " of a board of size " + size
+                                + " is not a shortest chain of neighbours");
+                        uErrors += 1;
+                    } else {}
+                }
+            }
+        }
+
+        // test a straight line along the centre row of a board of size 2
+        int[] out = new int[5];
+        line(2, HexagonLayout.index(2, 2, 0), HexagonLayout.index(2, 2, 4), out);
+        for (int k = 0; k < 5; k++) {
+            if (out[k] != HexagonLayout.index(2, 2, k)) {
+                System.out.println("Error: the line along the centre row should go through row 2, column " + k);
+                uErrors += 1;
+            } else {}
+        }
+
+        // test lineOfSight() from the centre of a board of size 3 with the cell up left of the centre blocked
+        int size = 3;
+        int centre = HexagonLayout.cellCount(size) / 2;
+        int wall = HexagonLayout.index(size, 2, 2);
+        int[] targets = {HexagonLayout.index(size, 0, 0), HexagonLayout.index(size, 1, 1), wall,
+                HexagonLayout.index(size, 0, 3), HexagonLayout.index(size, 6, 3)};
+        boolean[] expected = {false, false, true, true, true};
+        boolean[] visible = new boolean[targets.length];
+        IntPredicate blocked = i -> i == wall;
+        int seen = lineOfSight(size, centre, targets, targets.length, blocked, visible);
+        if (seen != 3) {
+            System.out.println("Error: lineOfSight() should see 3 targets, but saw " + seen);
+            uErrors += 1;
+        } else {}
+        for (int t = 0; t < targets.length; t++) {
+            if (visible[t] != expected[t] || lineOfSight(size, centre, targets[t], blocked) != expected[t]) {
+                System.out.println("Error: lineOfSight() to target " + t + " should be " + expected[t]);
+                uErrors += 1;
+            } else {}
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
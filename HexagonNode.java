@@ -1,3 +1,5 @@
+import java.io.IOException;
+
 /**
  * Code Written by Jackson L. Davis
  *
@@ -94,69 +96,60 @@ public class HexagonNode<I> {
     }
 
     /**
-     * @return string representation of the node and its next nodes
+     * Write the node's item and the items of its next nodes to out,
+     * directions that have no next node are not written.
+     * @param out where the text is written, such as a Writer or a StringBuilder
+     * @throws IOException if out cannot be written to
      */
-    public String toString() {
-        String result = "";
-        if (this.item != null) {
-            result = this.item.toString();
+    public void render(Appendable out) throws IOException {
+        appendItem(this, out);
+        out.append('\n');
+        appendNext("Next Up Left: ", this.nextUpLeft, out);
+        appendNext("Next Up Right: ", this.nextUpRight, out);
+        appendNext("Next Mid Left: ", this.nextMidLeft, out);
+        appendNext("Next Mid Right: ", this.nextMidRight, out);
+        appendNext("Next Down Left: ", this.nextDownLeft, out);
+        appendNext("Next Down Right: ", this.nextDownRight, out);
+    }
+
+    /**
+     * Write a label and the item of a next node to out, if there is a next node.
+     */
+    private static void appendNext(String label, HexagonNode<?> next, Appendable out) throws IOException {
+        if (next != null) {
+            out.append(label);
+            appendItem(next, out);
+            out.append('\n');
         }
         else {
-            result = "(no item assigned to this node)";
+            // do not print a direction that has null instead of a node
         }
-        result += "\n";
-        if (this.nextUpLeft != null) {
-            if (this.nextUpLeft.item() != null) {
-                result += "Next Up Left: " + this.nextUpLeft.item().toString() + "\n";
-            }
-            else {
-                result += "Next Up Left: (no item assigned to this node)\n";
-            }
+    }
+
+    /**
+     * Write the item of a node to out.
+     */
+    private static void appendItem(HexagonNode<?> node, Appendable out) throws IOException {
+        if (node.item != null) {
+            out.append(node.item.toString());
         }
         else {
-            // do not print a direction that has null instead of a node
+            out.append("(no item assigned to this node)");
+        }
+    }
+
+    /**
+     * @return string representation of the node and its next nodes
+     */
+    public String toString() {
+        StringBuilder result = new StringBuilder(64);
+        try {
+            this.render(result);
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e); // a StringBuilder never throws an IOException
         }
-        if (this.nextUpRight != null) {
-            if (this.nextUpRight.item() != null) {
-                result += "Next Up Right: " + this.nextUpRight.item().toString() + "\n";
-            }
-            else {
-                result += "Next Up Right: (no item assigned to this node)\n";
-            }
-        } else {}
-        if (this.nextMidLeft != null) {
-            if (this.nextMidLeft.item() != null) {
-                result += "Next Mid Left: " + this.nextMidLeft.item().toString() + "\n";
-            }
-            else {
-                result += "Next Mid Left: (no item assigned to this node)\n";
-            }
-        } else {}
-        if (this.nextMidRight != null) {
-            if (this.nextMidRight.item() != null) {
-                result += "Next Mid Right: " + this.nextMidRight.item().toString() + "\n";
-            }
-            else {
-                result += "Next Mid Right: (no item assigned to this node)\n";
-            }
-        } else {}
-        if (this.nextDownLeft != null) {
-            if (this.nextDownLeft.item() != null) {
-                result += "Next Down Left: " + this.nextDownLeft.item().toString() + "\n";
-            }
-            else {
-                result += "Next Down Left: (no item assigned to this node)\n";
-            }
-        } else {}
-        if (this.nextDownRight != null) {
-            if (this.nextDownRight.item() != null) {
-                result += "Next Down Right: " + this.nextDownRight.item().toString() + "\n";
-            }
-            else {
-                result += "Next Down Right: (no item assigned to this node)\n";
-            }
-        } else {}
-        return result;
+        return result.toString();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,422 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A HexagonPathfinder finds the cheapest path between two cells of a board with A*,
+ * or the cheapest cost from one cell to every cell with Dijkstra's algorithm.
+ * Moving onto a cell costs a whole number of at least 1 given by a cost function, and blocked cells cannot be moved onto.
+ * A* is guided by the number of moves left to the goal (see HexagonCoordinates.distance()),
+ * which is never more than the cost left because every move costs at least 1, so the path it finds is the cheapest.
+ *
+ * Cells are given by their index in row-major order (see HexagonLayout.java), not by HexagonNode.
+ * One HexagonPathfinder is made for a board size and used for every search:
+ * the open cells are kept in a binary heap made of an int array of cells and a long array of their keys,
+ * instead of a PriorityQueue of objects,
+ * and the cost and parent of a cell only count if the cell is in the HexagonStamps of the cells the current search reached,
+ * so nothing has to be cleared or allocated between searches.
+ * Costs add up in a long, and a cost too big for an int is kept as Integer.MAX_VALUE, which is more than any path
+ * can cost: a search throws an exception if it finishes a cell with it, since then the cheapest cost does not fit in an int.
+ */
+public class HexagonPathfinder {
+    private final int size;
+    private final HexagonTopology topology; // the shared neighbour table, null if the board is too big for one
+
+    private final int[] cost; // the cheapest cost found so far from the start to each cell
+    private final int[] parent; // the cell before each cell on the cheapest path found so far
+    private final HexagonStamps reached; // the cells the last search reached, whose cost and parent count
+    private final HexagonStamps finished; // the cells the last search finished, whose cost is the cheapest
+
+    // the binary heap of open cells, ordered by key; a cell can be in the heap more than once,
+    // the copies with a worse key are skipped when they come out
+    private int[] heapCells;
+    private long[] heapKeys;
+    private int heapSize;
+
+    private final int[] neighbours; // room for the neighbours of one cell
+    private int lastCost; // the cost of the last path found, or -1 if there was no path
+
+    /**
+     * Constructor method for a new HexagonPathfinder.
+     * @param sz the size of the board
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE
+     */
+    public HexagonPathfinder(int sz) {
+        if (sz < 0 || sz > HexagonLayout.MAX_SIZE) {
+            throw new RuntimeException("HexagonPathfinder must have size between 0 and " + HexagonLayout.MAX_SIZE);
+        } else {}
+        this.size = sz;
+        this.topology = HexagonTopology.ofOrNull(sz);
+        int cells = HexagonLayout.cellCount(sz);
+        this.cost = new int[cells];
+        this.parent = new int[cells];
+        this.reached = new HexagonStamps(cells);
+        this.finished = new HexagonStamps(cells);
+        this.heapCells = new int[Math.min(cells, 1024)];
+        this.heapKeys = new long[this.heapCells.length];
+        this.heapSize = 0;
+        this.neighbours = new int[HexagonLayout.DIRECTIONS];
+        this.lastCost = -1;
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Find the cheapest path from start to goal with A*.
+     * @param start the index of the first cell of the path
+     * @param goal the index of the last cell of the path
+     * @param costs the cost of moving onto each cell, at least 1, or null if every move costs 1
+     * @param blocked true for the cells that cannot be moved onto, or null if no cell is blocked
+     * @param path where the cells of the path are put, from start to goal, it must have room for the whole path
+     * @return the number of cells on the path including start and goal, or -1 if goal cannot be reached
+     * @precond start and goal are cells on the board, and the cheapest path costs less than Integer.MAX_VALUE
+     */
+    public int findPath(int start, int goal, IntUnaryOperator costs, IntPredicate blocked, int[] path) {
+        this.check(start);
+        this.check(goal);
+        int goalQ = this.q(goal);
+        int goalR = this.r(goal);
+        if (!this.search(start, goal, goalQ, goalR, costs, blocked)) {
+            this.lastCost = -1;
+            return -1;
+        } else {}
+        this.lastCost = this.cost[goal];
+
+        // follow the parents back from the goal, then put the path in order from the start
+        int length = 1;
+        for (int cell = goal; cell != start; cell = this.parent[cell]) {
+            length += 1;
+        }
+        int cell = goal;
+        for (int k = length - 1; k >= 0; k--) {
+            path[k] = cell;
+            cell = this.parent[cell];
+        }
+        return length;
+    }
+
+    /**
+     * @return the total cost of the path found by the last call to findPath(), not counting the start, or -1 if there was no path
+     */
+    public int lastCost() {
+        return this.lastCost;
+    }
+
+    /**
+     * Find the cheapest cost from start to every cell with Dijkstra's algorithm, read the costs with costFrom().
+     * @param start the index of a cell
+     * @param costs the cost of moving onto each cell, at least 1, or null if every move costs 1
+     * @param blocked true for the cells that cannot be moved onto, or null if no cell is blocked
+     * @precond start is a cell on the board, and the cheapest cost to every cell is less than Integer.MAX_VALUE
+     */
+    public void costsFrom(int start, IntUnaryOperator costs, IntPredicate blocked) {
+        this.check(start);
+        this.search(start, -1, 0, 0, costs, blocked);
+    }
+
+    /**
+     * @param i the index of a cell
+     * @return the cheapest cost from the start of the last search to cell i, or -1 if it was not reached
+     * @precond the last search was costsFrom(), findPath() stops before every cell is finished
+     */
+    public int costFrom(int i) {
+        return this.finished.contains(i) ? this.cost[i] : -1;
+    }
+
+    /**
+     * The search shared by A* and Dijkstra's algorithm, Dijkstra's algorithm has no goal and no heuristic.
+     * @return true if the goal was reached
+     */
+    private boolean search(int start, int goal, int goalQ, int goalR, IntUnaryOperator costs, IntPredicate blocked) {
+        HexagonStamps seen = this.reached;
+        HexagonStamps done = this.finished;
+        seen.clear();
+        done.clear();
+        this.heapSize = 0;
+        seen.add(start);
+        this.cost[start] = 0;
+        this.parent[start] = start;
+        this.push(start, key(goal < 0 ? 0 : this.estimate(start, goalQ, goalR), 0));
+        while (this.heapSize > 0) {
+            int cell = this.pop();
+            if (done.contains(cell)) {
+                continue; // an older copy of a cell that was already finished
+            } else {}
+            if (this.cost[cell] == Integer.MAX_VALUE) {
+                // every cell left costs at least this much, so the cheapest cost of this cell is too big for an int
+                throw new RuntimeException("The cheapest path to cell " + cell + " costs more than " + (Integer.MAX_VALUE - 1));
+            } else {}
+            done.add(cell);
+            if (cell == goal) {
+                return true;
+            } else {}
+            int found = this.topology != null ? this.topology.neighbours(cell, this.neighbours)
+                    : HexagonLayout.neighbours(this.size, cell, this.neighbours);
+            for (int k = 0; k < found; k++) {
+                int n = this.neighbours[k];
+                if (done.contains(n) || (blocked != null && blocked.test(n))) {
+                    continue;
+                } else {}
+                int step = costs == null ? 1 : costs.applyAsInt(n);
+                if (step < 1) {
+                    throw new RuntimeException("Moving onto cell " + n + " costs " + step + ", but every move must cost at least 1");
+                } else {}
+                int newCost = (int) Math.min((long) this.cost[cell] + step, Integer.MAX_VALUE);
+                if (!seen.contains(n) || newCost < this.cost[n]) {
+                    seen.add(n);
+                    this.cost[n] = newCost;
+                    this.parent[n] = cell;
+                    this.push(n, key(goal < 0 ? newCost : (long) newCost + this.estimate(n, goalQ, goalR), newCost));
+                } else {}
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param total the cost so far plus the estimate of the cost left
+     * @param soFar the cost so far
+     * @return the key of a cell in the heap, cells with a smaller total come out first,
+     *         and between cells with the same total the one closest to the goal comes out first
+     */
+    private static long key(long total, int soFar) {
+        // total is less than 2^32, so shifting it by 31 keeps the key positive, and the low 31 bits hold what soFar is short of an int
+        return (total << 31) | (Integer.MAX_VALUE - soFar);
+    }
+
+    /**
+     * @return the number of moves from cell i to the goal, which is never more than the cost of getting there
+     */
+    private int estimate(int i, int goalQ, int goalR) {
+        return HexagonCoordinates.distance(this.q(i), this.r(i), goalQ, goalR);
+    }
+
+    private int q(int i) {
+        if (this.topology != null) {
+            return HexagonCoordinates.q(this.size, this.topology.row(i), this.topology.col(i));
+        }
+        else {
+            return HexagonCoordinates.qOf(this.size, i);
+        }
+    }
+
+    private int r(int i) {
+        if (this.topology != null) {
+            return this.topology.row(i) - this.size;
+        }
+        else {
+            return HexagonCoordinates.rOf(this.size, i);
+        }
+    }
+
+    private void check(int i) {
+        if (i < 0 || i >= this.cost.length) {
+            throw new RuntimeException("A board of size " + this.size + " has no cell " + i);
+        } else {}
+    }
+
+    /**
+     * Add a cell to the heap, growing the heap if it is full.
+     */
+    private void push(int cell, long key) {
+        if (this.heapSize == this.heapCells.length) {
+            this.heapCells = Arrays.copyOf(this.heapCells, this.heapSize * 2);
+            this.heapKeys = Arrays.copyOf(this.heapKeys, this.heapSize * 2);
+        } else {}
+        // move the hole up until its parent has a smaller key
+        int hole = this.heapSize;
+        this.heapSize += 1;
+        while (hole > 0) {
+            int up = (hole - 1) >>> 1;
+            if (this.heapKeys[up] <= key) {
+                break;
+            } else {}
+            this.heapCells[hole] = this.heapCells[up];
+            this.heapKeys[hole] = this.heapKeys[up];
+            hole = up;
+        }
+        this.heapCells[hole] = cell;
+        this.heapKeys[hole] = key;
+    }
+
+    /**
+     * Remove the cell with the smallest key from the heap.
+     * @return the cell with the smallest key
+     */
+    private int pop() {
+        int top = this.heapCells[0];
+        this.heapSize -= 1;
+        int cell = this.heapCells[this.heapSize];
+        long key = this.heapKeys[this.heapSize];
+        // move the hole at the top down until both of its children have bigger keys
+        int hole = 0;
+        while (true) {
+            int child = 2 * hole + 1;
+            if (child >= this.heapSize) {
+                break;
+            } else {}
+            if (child + 1 < this.heapSize && this.heapKeys[child + 1] < this.heapKeys[child]) {
+                child += 1;
+            } else {}
+            if (this.heapKeys[child] >= key) {
+                break;
+            } else {}
+            this.heapCells[hole] = this.heapCells[child];
+            this.heapKeys[hole] = this.heapKeys[child];
+            hole = child;
+        }
+        this.heapCells[hole] = cell;
+        this.heapKeys[hole] = key;
+        return top;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonPathfinder.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that no cell has a cost before the first search
+        if (new HexagonPathfinder(3).costFrom(5) != -1) {
+            System.out.println("Error: costFrom() should return -1 before the first search");
+            uErrors += 1;
+        } else {}
+
+        // test that with every move costing 1, the path is as long as the distance between the cells
+        int size = 5;
+        HexagonPathfinder finder = new HexagonPathfinder(size);
+        int cells = HexagonLayout.cellCount(size);
+        int[] path = new int[cells];
+        for (int start = 0; start < cells; start += 7) {
+            for (int goal = 0; goal < cells; goal++) {
+                int length = finder.findPath(start, goal, null, null, path);
+                if (length != HexagonCoordinates.distance(size, start, goal) + 1 || path[0] != start
+                        || path[length - 1] != goal) {
+                    System.out.println("Error: the path from cell " + start + " to cell " + goal + " has " + length + " cells");
+                    uErrors += 1;
+                } else {}
+            }
+        }
+
+        // test random costs and blocked cells against Dijkstra's algorithm and a slow search that relaxes every cell
+        Random random = new Random(19);
+        int[] cellCost = new int[cells];
+        boolean[] wall = new boolean[cells];
+        int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+        for (int trial = 0; trial < 50; trial++) {
+            for (int i = 0; i < cells; i++) {
+                cellCost[i] = 1 + random.nextInt(9);
+                wall[i] = random.nextInt(4) == 0;
+            }
+            int start = random.nextInt(cells);
+            int goal = random.nextInt(cells);
+            wall[start] = false;
+            IntUnaryOperator costs = i -> cellCost[i];
+            IntPredicate blocked = i -> wall[i];
+
+            // the slow search: keep lowering costs until nothing changes
+            int[] slow = new int[cells];
+            Arrays.fill(slow, Integer.MAX_VALUE);
+            slow[start] = 0;
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = 0; i < cells; i++) {
+                    if (slow[i] == Integer.MAX_VALUE) {
+                        continue;
+                    } else {}
+                    int count = HexagonLayout.neighbours(size, i, neighbours);
+                    for (int k = 0; k < count; k++) {
+                        int n = neighbours[k];
+                        if (!wall[n] && slow[i] + cellCost[n] < slow[n]) {
+                            slow[n] = slow[i] + cellCost[n];
+                            changed = true;
+                        } else {}
+                    }
+                }
+            }
+
+            finder.costsFrom(start, costs, blocked);
+            for (int i = 0; i < cells; i++) {
+                int expected = slow[i] == Integer.MAX_VALUE ? -1 : slow[i];
+                if (finder.costFrom(i) != expected) {
+                    System.out.println("Error: costFrom(" + i + ") should return " + expected + ", but returned "
+                            + finder.costFrom(i));
+                    uErrors += 1;
+                } else {}
+            }
+
+            int length = finder.findPath(start, goal, costs, blocked, path);
+            int expected = slow[goal] == Integer.MAX_VALUE ? -1 : slow[goal];
+            if (finder.lastCost() != expected || (length < 0) != (expected < 0)) {
+                System.out.println("Error: the path from cell " + start + " to cell " + goal + " should cost " + expected
+                        + ", but cost " + finder.lastCost());
+                uErrors += 1;
+            } else {}
+            // check that the path is made of moves between neighbours onto open cells and adds up to its cost
+            int total = 0;
+            for (int k = 1; k < length; k++) {
+                if (HexagonCoordinates.distance(size, path[k - 1], path[k]) != 1 || wall[path[k]]) {
+                    System.out.println("Error: the path from cell " + start + " to cell " + goal + " has a bad move");
+                    uErrors += 1;
+                } else {}
+                total += cellCost[path[k]];
+            }
+            if (length > 0 && total != finder.lastCost()) {
+                System.out.println("Error: the path from cell " + start + " to cell " + goal + " adds up to " + total
+                        + ", but lastCost() returned " + finder.lastCost());
+                uErrors += 1;
+            } else {}
+        }
+
+        // test a cost less than 1
+        try {
+            finder.findPath(0, cells - 1, i -> 0, null, path);
+            System.out.println("Error: findPath() did not throw an exception for a cost of 0");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("findPath() correctly caught exception for invalid input.");
+        }
+
+        // test costs that add up to just under and just over what an int can hold, on a board of size 1
+        HexagonPathfinder small = new HexagonPathfinder(1);
+        int[] smallPath = new int[HexagonLayout.cellCount(1)];
+        int corner = HexagonLayout.cellCount(1) - 1;
+        if (small.findPath(0, corner, i -> Integer.MAX_VALUE / 2, null, smallPath) != 3
+                || small.lastCost() != Integer.MAX_VALUE - 1) {
+            System.out.println("Error: a path of two moves costing " + Integer.MAX_VALUE / 2 + " should cost "
+                    + (Integer.MAX_VALUE - 1) + ", but cost " + small.lastCost());
+            uErrors += 1;
+        } else {}
+        small.costsFrom(0, i -> Integer.MAX_VALUE / 2, null);
+        if (small.costFrom(corner) != Integer.MAX_VALUE - 1) {
+            System.out.println("Error: costFrom() should return " + (Integer.MAX_VALUE - 1) + ", but returned " + small.costFrom(corner));
+            uErrors += 1;
+        } else {}
+        try {
+            small.findPath(0, corner, i -> Integer.MAX_VALUE / 2 + 1, null, smallPath);
+            System.out.println("Error: findPath() did not throw an exception for a path that costs more than an int can hold");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("findPath() correctly caught exception for invalid input.");
+        }
+        try {
+            small.costsFrom(0, i -> Integer.MAX_VALUE, null);
+            System.out.println("Error: costsFrom() did not throw an exception for costs that add up to more than an int can hold");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("costsFrom() correctly caught exception for invalid input.");
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
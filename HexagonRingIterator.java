@@ -0,0 +1,249 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonRingIterator gives the index of every cell in a ring around a cell, or in a spiral of rings around a cell.
+ * Ring k around a cell is every cell that is k moves away from it, ring 0 is just the cell itself.
+ * Each ring starts at its up left corner (k up left moves from the centre of the ring) and goes clockwise:
+ *     0 - 1 - 2
+ *    / \ / \ / \
+ *   B - O - O - 3
+ *  / \ / \ / \ / \
+ * A - O - c - O - 4
+ *  \ / \ / \ / \ /
+ *   9 - O - O - 5
+ *    \ / \ / \ /
+ *     8 - 7 - 6
+ * This is ring 2 around the cell c. Cells of a ring that are not on the board are skipped.
+ *
+ * The ring is walked on axial coordinates (see HexagonCoordinates.java),
+ * so every move along a side of the ring is the same change to q and r.
+ * Each cell costs the same small amount of work, so going through a ring costs time proportional to the length of the ring.
+ */
+public final class HexagonRingIterator implements PrimitiveIterator.OfInt {
+
+    // the direction of each side of a ring, in clockwise order starting from the up left corner
+    private static final int[] SIDES = {HexagonLayout.MID_RIGHT, HexagonLayout.DOWN_RIGHT, HexagonLayout.DOWN_LEFT,
+            HexagonLayout.MID_LEFT, HexagonLayout.UP_LEFT, HexagonLayout.UP_RIGHT};
+
+    private final int size;
+    private final int centreQ; // the axial coordinates of the centre of the rings
+    private final int centreR;
+    private final int lastRing;
+
+    private int ring; // the ring that is being walked
+    private int ringLength; // the number of cells in the ring, including cells that are not on the board
+    private int position; // how far along the ring the walk is
+    private int q; // the axial coordinates of the cell at position
+    private int r;
+    private int next; // the index of the next cell to be returned, or -1 if there are no more cells
+
+    /**
+     * Constructor method for a HexagonRingIterator over the rings firstRing up to and including lastRing around a cell.
+     * @param sz the size of the board
+     * @param centre the index of the cell in the centre of the rings, in row-major order (see HexagonLayout.java)
+     * @param firstRing the first ring
+     * @param lastRing the last ring
+     * @precond 0 <= centre < HexagonLayout.cellCount(sz) and firstRing >= 0
+     */
+    private HexagonRingIterator(int sz, int centre, int firstRing, int lastRing) {
+        if (centre < 0 || centre >= HexagonLayout.cellCount(sz)) {
+            throw new RuntimeException("A board of size " + sz + " has no cell " + centre);
+        }
+        else if (firstRing < 0) {
+            throw new RuntimeException("Ring " + firstRing + " does not exist, rings start at 0");
+        } else {}
+        this.size = sz;
+        this.centreQ = HexagonCoordinates.qOf(sz, centre);
+        this.centreR = HexagonCoordinates.rOf(sz, centre);
+        // no ring past the distance to the farthest corner of the board has any cells on the board
+        int farthest = sz + HexagonCoordinates.distance(this.centreQ, this.centreR, 0, 0);
+        this.lastRing = Math.min(lastRing, farthest);
+        this.ring = firstRing - 1;
+        this.ringLength = 0;
+        this.position = 0;
+        this.advance();
+    }
+
+    /**
+     * @param sz the size of the board
+     * @param centre the index of the cell in the centre of the ring
+     * @param k the ring, 0 for just the centre cell
+     * @return an iterator over the cells that are k moves away from centre, in clockwise order
+     */
+    public static HexagonRingIterator ring(int sz, int centre, int k) {
+        return new HexagonRingIterator(sz, centre, k, k);
+    }
+
+    /**
+     * @param sz the size of the board
+     * @param centre the index of the cell in the centre of the spiral
+     * @param radius the last ring of the spiral
+     * @return an iterator over the cells that are at most radius moves away from centre, ring 0 first, then ring 1, and so on
+     */
+    public static HexagonRingIterator spiral(int sz, int centre, int radius) {
+        return new HexagonRingIterator(sz, centre, 0, radius);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.next >= 0;
+    }
+
+    @Override
+    public int nextInt() {
+        if (this.next < 0) {
+            throw new NoSuchElementException();
+        } else {}
+        int cell = this.next;
+        this.advance();
+        return cell;
+    }
+
+    /**
+     * Walk along the rings until the next cell that is on the board.
+     */
+    private void advance() {
+        while (true) {
+            if (this.position == this.ringLength) {
+                // start the next ring at its up left corner
+                this.ring += 1;
+                if (this.ring > this.lastRing) {
+                    this.next = -1;
+                    return;
+                } else {}
+                this.q = this.centreQ + this.ring * HexagonCoordinates.dq(HexagonLayout.UP_LEFT);
+                this.r = this.centreR + this.ring * HexagonCoordinates.dr(HexagonLayout.UP_LEFT);
+                this.position = 0;
+                this.ringLength = this.ring == 0 ? 1 : 6 * this.ring;
+            } else {}
+            int cellQ = this.q;
+            int cellR = this.r;
+            if (this.ring > 0) {
+                int side = SIDES[this.position / this.ring];
+                this.q += HexagonCoordinates.dq(side);
+                this.r += HexagonCoordinates.dr(side);
+            } else {}
+            this.position += 1;
+            if (HexagonCoordinates.contains(this.size, cellQ, cellR)) {
+                this.next = HexagonCoordinates.index(this.size, cellQ, cellR);
+                return;
+            } else {}
+        }
+    }
+
+    /**
+     * @return the number of moves from cell start to every cell of a board, found by a breadth first search, used for testing
+     */
+    private static int[] distances(int size, int start) {
+        int[] distance = new int[HexagonLayout.cellCount(size)];
+        Arrays.fill(distance, -1);
+        distance[start] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int count = HexagonLayout.neighbours(size, cell, neighbours);
+            for (int k = 0; k < count; k++) {
+                if (distance[neighbours[k]] < 0) {
+                    distance[neighbours[k]] = distance[cell] + 1;
+                    queue.add(neighbours[k]);
+                } else {}
+            }
+        }
+        return distance;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonRingIterator.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that ring k around every cell is exactly the cells k moves away from it
+        for (int size = 0; size <= 5; size++) {
+            for (int centre = 0; centre < HexagonLayout.cellCount(size); centre++) {
+                int[] distance = distances(size, centre);
+                for (int k = 0; k <= 2 * size + 1; k++) {
+                    int expected = 0;
+                    for (int d : distance) {
+                        expected += d == k ? 1 : 0;
+                    }
+                    int found = 0;
+                    HexagonRingIterator cells = ring(size, centre, k);
+                    while (cells.hasNext()) {
+                        int cell = cells.nextInt();
+                        if (distance[cell] != k) {
+                            System.out.println("Error: ring " + k + " around cell " + centre + " of a board of size " + size
+                                    + " has cell " + cell + ", which is " + distance[cell] + " moves away");
+                            uErrors += 1;
+                        } else {}
+                        found += 1;
+                    }
+                    if (found != expected) {
+                        System.out.println("Error: ring " + k + " around cell " + centre + " of a board of size " + size
+                                + " should have " + expected + " cells, but has " + found);
+                        uErrors += 1;
+                    } else {}
+                }
+            }
+        }
+
+        // test the order of a whole ring against the picture at the top of this file
+        int size = 3;
+        int centre = HexagonLayout.index(size, 3, 3);
+        int[][] expected = {{1, 1}, {1, 2}, {1, 3}, {2, 4}, {3, 5}, {4, 4}, {5, 3}, {5, 2}, {5, 1}, {4, 1}, {3, 1}, {2, 1}};
+        HexagonRingIterator cells = ring(size, centre, 2);
+        for (int k = 0; k < expected.length; k++) {
+            int cell = cells.nextInt();
+            if (cell != HexagonLayout.index(size, expected[k][0], expected[k][1])) {
+                System.out.println("Error: cell " + k + " of ring 2 should be at row " + expected[k][0] + ", column "
+                        + expected[k][1] + ", but is at row " + HexagonLayout.rowOf(size, cell)
+                        + ", column " + HexagonLayout.colOf(size, cell));
+                uErrors += 1;
+            } else {}
+        }
+        if (cells.hasNext()) {
+            System.out.println("Error: ring 2 has more than 12 cells");
+            uErrors += 1;
+        } else {}
+
+        // test that a spiral from a corner covers the whole board once, nearest cells first
+        size = 4;
+        centre = HexagonLayout.cellCount(size) - 1;
+        int[] distance = distances(size, centre);
+        boolean[] seen = new boolean[distance.length];
+        int last = 0;
+        int count = 0;
+        HexagonRingIterator spiral = spiral(size, centre, 100);
+        while (spiral.hasNext()) {
+            int cell = spiral.nextInt();
+            if (seen[cell] || distance[cell] < last) {
+                System.out.println("Error: the spiral gave cell " + cell + " twice or out of order");
+                uErrors += 1;
+            } else {}
+            seen[cell] = true;
+            last = distance[cell];
+            count += 1;
+        }
+        if (count != distance.length) {
+            System.out.println("Error: the spiral should cover " + distance.length + " cells, but covered " + count);
+            uErrors += 1;
+        } else {}
+
+        // test invalid input
+        try {
+            ring(2, 19, 1);
+            System.out.println("Error: ring() did not throw an exception for a cell that is not on the board");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("ring() correctly caught exception for invalid input.");
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonRule gives the next state of a cell of a cellular automaton (see HexagonAutomaton.java)
+ * from the state it is in now and how many of its neighbours are live, which means not in state 0.
+ * A rule is only asked about each pair of state and live count once, when the automaton is made,
+ * so it does not need to be fast.
+ */
+public interface HexagonRule {
+
+    /**
+     * @param state the state of a cell now, from 0 up to but not including the number of states
+     * @param live the number of neighbours of the cell that are not in state 0, from 0 to 6
+     * @return the state of the cell in the next generation, from 0 up to but not including the number of states
+     */
+    int next(int state, int live);
+}
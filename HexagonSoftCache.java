@@ -0,0 +1,65 @@
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A HexagonSoftCache keeps one shared object for each board size, such as a HexagonBoardTemplate or a HexagonTopology,
+ * and makes it the first time it is asked for. The objects are only held softly, so the garbage collector can take
+ * back the objects of sizes that are no longer used when memory runs low, and they are made again when they are next asked for.
+ * An object is never made twice at the same time for one size, so the cache can be shared between threads.
+ */
+public final class HexagonSoftCache<T> {
+    private final ConcurrentHashMap<Integer, SoftReference<T>> objects = new ConcurrentHashMap<>();
+    private final IntFunction<? extends T> make; // makes the object for a size
+
+    /**
+     * Constructor method for a new HexagonSoftCache.
+     * @param maker makes the object for a size, it is only called when the cache has no object for that size
+     */
+    public HexagonSoftCache(IntFunction<? extends T> maker) {
+        this.make = maker;
+    }
+
+    /**
+     * @param sz the size of the board
+     * @return the shared object for the given size, made now if there was none or the garbage collector took it back
+     */
+    public T get(int sz) {
+        T object = null;
+        while (object == null) {
+            // the reference is made again if there was none or the garbage collector took its object back,
+            // and the loop only runs again if the garbage collector takes a new object back before it is handed out
+            object = this.objects.compute(sz, (k, ref) -> ref == null || ref.get() == null
+                    ? new SoftReference<T>(this.make.apply(k)) : ref).get();
+        }
+        return object;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonSoftCache.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that each size is made once and then shared
+        int[] made = new int[1];
+        HexagonSoftCache<int[]> cache = new HexagonSoftCache<>(sz -> {
+            made[0] += 1;
+            return new int[sz];
+        });
+        int[] three = cache.get(3);
+        if (cache.get(3) != three || three.length != 3 || cache.get(4).length != 4 || made[0] != 2) {
+            System.out.println("Error: get() should make the object for each size once, but made " + made[0] + " objects");
+            uErrors += 1;
+        } else {}
+
+        // test that an object the garbage collector took back is made again
+        cache.objects.put(5, new SoftReference<>(null));
+        if (cache.get(5).length != 5 || made[0] != 3) {
+            System.out.println("Error: get() did not make the object again after it was taken back");
+            uErrors += 1;
+        } else {}
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
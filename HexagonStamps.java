@@ -0,0 +1,98 @@
+import java.util.Arrays;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonStamps is a set of cells that can be emptied in constant time, for searches that run again and again
+ * on boards of one size (see HexagonDistanceField.java and HexagonPathfinder.java).
+ * Each cell holds the generation it was last added in, and clear() starts a new generation instead of
+ * touching every cell, so a cell is only in the set if it holds the current generation.
+ * The cells are only really cleared once every Integer.MAX_VALUE - 1 generations, when the number runs out.
+ */
+public final class HexagonStamps {
+    private final int[] stamps; // the generation each cell was last added in, 0 if it was never added
+    private int generation; // never 0, so a cell that was never added is never in the set
+
+    /**
+     * Constructor method for a new, empty HexagonStamps.
+     * @param cells the number of cells, the cells are 0 up to but not including cells
+     * @precond cells >= 0
+     */
+    public HexagonStamps(int cells) {
+        this.stamps = new int[cells];
+        this.generation = 1;
+    }
+
+    /**
+     * Empty the set.
+     */
+    public void clear() {
+        if (this.generation == Integer.MAX_VALUE) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 0;
+        } else {}
+        this.generation += 1;
+    }
+
+    /**
+     * @param i a cell
+     * @return true if cell i was added since the last clear(), false otherwise
+     * @precond 0 <= i < cellCount()
+     */
+    public boolean contains(int i) {
+        return this.stamps[i] == this.generation;
+    }
+
+    /**
+     * Add cell i to the set.
+     * @param i a cell
+     * @precond 0 <= i < cellCount()
+     */
+    public void add(int i) {
+        this.stamps[i] = this.generation;
+    }
+
+    /**
+     * @return the number of cells that can be in the set
+     */
+    public int cellCount() {
+        return this.stamps.length;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonStamps.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that a new set is empty, and that clear() empties it
+        HexagonStamps stamps = new HexagonStamps(10);
+        boolean empty = true;
+        for (int i = 0; i < stamps.cellCount(); i++) {
+            empty = empty && !stamps.contains(i);
+        }
+        stamps.add(3);
+        stamps.add(7);
+        if (!empty || !stamps.contains(3) || !stamps.contains(7) || stamps.contains(4)) {
+            System.out.println("Error: a new set should be empty and hold only the cells added to it");
+            uErrors += 1;
+        } else {}
+        stamps.clear();
+        if (stamps.contains(3) || stamps.contains(7)) {
+            System.out.println("Error: clear() did not empty the set");
+            uErrors += 1;
+        } else {}
+
+        // test that cells added long ago are not in the set after the generation number runs out
+        stamps.add(5);
+        stamps.generation = Integer.MAX_VALUE - 1;
+        stamps.add(6);
+        stamps.clear();
+        stamps.add(2);
+        stamps.clear();
+        if (stamps.generation != 1 || stamps.contains(5) || stamps.contains(6) || stamps.contains(2)) {
+            System.out.println("Error: the set should be empty after the generation number runs out");
+            uErrors += 1;
+        } else {}
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,220 @@
+import java.util.function.IntConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A HexagonTopology is the shape of a board of one size worked out ahead of time:
+ * the neighbour of every cell in every direction, and the row of every cell.
+ * The shape of a board only depends on its size, so topologies are made once for each size and shared
+ * by every board of that size, and each board only has to keep its items and its cursor.
+ * A HexagonTopology never changes after it is made, so it can be shared between threads.
+ * They are kept in a HexagonSoftCache, so the garbage collector can take back the topologies of sizes
+ * that no board is using when memory runs low, and boards only ask for theirs the first time they need neighbours.
+ *
+ * The neighbours are kept in one int array with 6 entries for each cell, in the order of the direction codes
+ * of HexagonLayout, and -1 where there is no neighbour:
+ * neighbour(i, d) = neighbours[6 * i + d]
+ */
+public final class HexagonTopology {
+
+    /** Topologies are only made for boards up to this size, bigger boards work out their neighbours with HexagonLayout. */
+    public static final int MAX_CACHED_SIZE = 300;
+
+    private static final HexagonSoftCache<HexagonTopology> CACHE = new HexagonSoftCache<>(HexagonTopology::new);
+
+    private final int size;
+    private final int[] neighbours; // the neighbour of each cell in each direction, -1 if there is none
+    private final int[] rows; // the row of each cell
+    private final int[] rowStarts; // the index of the first cell of each row, and the number of cells at the end
+
+    /**
+     * Constructor method for a new HexagonTopology, use of() to get a shared topology.
+     * @param sz the size of the board
+     */
+    private HexagonTopology(int sz) {
+        this.size = sz;
+        int cells = HexagonLayout.cellCount(sz);
+        this.neighbours = new int[HexagonLayout.DIRECTIONS * cells];
+        this.rows = new int[cells];
+        this.rowStarts = new int[HexagonLayout.rowCount(sz) + 1];
+        for (int r = 0; r <= 2 * sz; r++) {
+            this.rowStarts[r] = HexagonLayout.rowStart(sz, r);
+            int length = HexagonLayout.rowLength(sz, r);
+            for (int c = 0; c < length; c++) {
+                int i = this.rowStarts[r] + c;
+                this.rows[i] = r;
+                for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+                    this.neighbours[HexagonLayout.DIRECTIONS * i + d] = HexagonLayout.neighbour(sz, r, c, d);
+                }
+            }
+        }
+        this.rowStarts[2 * sz + 1] = cells;
+    }
+
+    /**
+     * @param sz the size of the board
+     * @return the shared topology for boards of the given size
+     * @precond 0 <= sz <= MAX_CACHED_SIZE
+     */
+    public static HexagonTopology of(int sz) {
+        if (sz < 0 || sz > MAX_CACHED_SIZE) {
+            throw new RuntimeException("HexagonTopology must have size between 0 and " + MAX_CACHED_SIZE);
+        }
+        else {
+            return CACHE.get(sz);
+        }
+    }
+
+    /**
+     * @param sz the size of the board
+     * @return the shared topology for boards of the given size, or null if boards of that size are too big to have one
+     */
+    public static HexagonTopology ofOrNull(int sz) {
+        return sz >= 0 && sz <= MAX_CACHED_SIZE ? of(sz) : null;
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of cells on the board
+     */
+    public int cellCount() {
+        return this.rows.length;
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the row index of cell i
+     * @precond 0 <= i < cellCount()
+     */
+    public int row(int i) {
+        return this.rows[i];
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the column index of cell i
+     * @precond 0 <= i < cellCount()
+     */
+    public int col(int i) {
+        return i - this.rowStarts[this.rows[i]];
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the index of the cell at row r and column c in row-major order
+     * @precond HexagonLayout.contains(size(), r, c)
+     */
+    public int index(int r, int c) {
+        return this.rowStarts[r] + c;
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @param direction one of the direction codes of HexagonLayout
+     * @return the index of the neighbour of cell i in the given direction, or -1 if there is none
+     * @precond 0 <= i < cellCount()
+     */
+    public int neighbour(int i, int direction) {
+        return this.neighbours[HexagonLayout.DIRECTIONS * i + direction];
+    }
+
+    /**
+     * Put the index of every neighbour of cell i into out, in the order of the direction codes of HexagonLayout.
+     * @param i the index of a cell in row-major order
+     * @param out where the indexes of the neighbours are put, it must have room for 6
+     * @return the number of neighbours put into out
+     * @precond 0 <= i < cellCount()
+     */
+    public int neighbours(int i, int[] out) {
+        int count = 0;
+        int base = HexagonLayout.DIRECTIONS * i;
+        for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+            int n = this.neighbours[base + d];
+            if (n >= 0) {
+                out[count++] = n;
+            } else {}
+        }
+        return count;
+    }
+
+    /**
+     * Give the index of every neighbour of cell i to action, in the order of the direction codes of HexagonLayout.
+     * @param i the index of a cell in row-major order
+     * @param action what to do with the index of each neighbour
+     * @precond 0 <= i < cellCount()
+     */
+    public void forEachNeighbour(int i, IntConsumer action) {
+        int base = HexagonLayout.DIRECTIONS * i;
+        for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+            int n = this.neighbours[base + d];
+            if (n >= 0) {
+                action.accept(n);
+            } else {}
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonTopology.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that topologies are shared
+        if (HexagonTopology.of(5) != HexagonTopology.of(5) || ofOrNull(MAX_CACHED_SIZE + 1) != null) {
+            System.out.println("Error: of(5) did not return the same topology twice, or ofOrNull() made a topology too big");
+            uErrors += 1;
+        } else {}
+
+        // test every cell against HexagonLayout
+        int[] found = new int[HexagonLayout.DIRECTIONS];
+        int[] expected = new int[HexagonLayout.DIRECTIONS];
+        for (int size = 0; size <= 12; size++) {
+            HexagonTopology topology = HexagonTopology.of(size);
+            for (int i = 0; i < topology.cellCount(); i++) {
+                int r = topology.row(i);
+                int c = topology.col(i);
+                if (r != HexagonLayout.rowOf(size, i) || c != HexagonLayout.colOf(size, i) || topology.index(r, c) != i) {
+                    System.out.println("Error: row(), col(), or index() is wrong for cell " + i + " of a board of size " + size);
+                    uErrors += 1;
+                } else {}
+                for (int d = 0; d < HexagonLayout.DIRECTIONS; d++) {
+                    int n = topology.neighbour(i, d);
+                    if (n != HexagonLayout.neighbour(size, r, c, d)
+                            || (n >= 0 && topology.neighbour(n, HexagonLayout.opposite(d)) != i)) {
+                        System.out.println("Error: neighbour(" + i + ", " + d + ") is wrong on a board of size " + size);
+                        uErrors += 1;
+                    } else {}
+                }
+                int count = topology.neighbours(i, found);
+                int[] visited = new int[1];
+                topology.forEachNeighbour(i, n -> visited[0] += n);
+                int sum = 0;
+                for (int k = 0; k < count; k++) {
+                    sum += found[k];
+                }
+                if (count != HexagonLayout.neighbours(size, i, expected) || sum != visited[0]) {
+                    System.out.println("Error: neighbours() or forEachNeighbour() is wrong for cell " + i
+                            + " of a board of size " + size);
+                    uErrors += 1;
+                } else {}
+            }
+        }
+
+        // test invalid input
+        try {
+            HexagonTopology.of(-1);
+            System.out.println("Error: of() did not throw an exception for a board of size -1");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("of() correctly caught exception for invalid input.");
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,125 @@
+import java.util.HashSet;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonZobrist gives the random keys used to hash the state of a board, one 64-bit key for each cell and item code.
+ * The item of each cell is given a small code from 0 up to but not including codes(), and the hash of a board
+ * is the exclusive or of key(i, code of cell i) over every cell. Changing one cell from code a to code b
+ * only changes the hash by key(i, a) ^ key(i, b), so a board can keep its hash up to date in constant time.
+ * The key of code 0 is always 0, so an empty board hashes to 0 and empty cells cost nothing.
+ * IntHexagonBoard, LongHexagonBoard, ByteHexagonBoard, and FlatHexagonBoard can keep such a hash with trackHash().
+ * HexagonBoard cannot, since the item of a node can be changed with HexagonNode.setItem() without the board knowing.
+ *
+ * The keys are not kept in a table: each key is worked out when it is asked for, by mixing the cell and the code
+ * with a fixed seed. So a HexagonZobrist takes no memory for its keys, however big the board is, and
+ * equal boards always have equal hashes, which is what a transposition table needs.
+ * The mixing is the finaliser of SplitMix64, which never gives two different inputs the same output,
+ * so no two keys of a board are ever the same.
+ */
+public final class HexagonZobrist {
+
+    /** The most item codes a HexagonZobrist can have, enough for every value a ByteHexagonBoard can hash. */
+    public static final int MAX_CODES = 128;
+
+    private static final long SEED = 0x48455842L; // "HEXB"
+
+    private final int size;
+    private final int codes;
+
+    /**
+     * Constructor method for a new HexagonZobrist.
+     * @param sz the size of the board
+     * @param codes the number of different item codes, including code 0 for an empty cell
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE and 1 <= codes <= MAX_CODES
+     */
+    public HexagonZobrist(int sz, int codes) {
+        if (sz < 0 || sz > HexagonLayout.MAX_SIZE) {
+            throw new RuntimeException("HexagonZobrist must have size between 0 and " + HexagonLayout.MAX_SIZE);
+        }
+        else if (codes < 1 || codes > MAX_CODES) {
+            throw new RuntimeException("HexagonZobrist must have between 1 and " + MAX_CODES + " item codes, not " + codes);
+        } else {}
+        this.size = sz;
+        this.codes = codes;
+    }
+
+    /**
+     * @return the size of the board
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of different item codes
+     */
+    public int codes() {
+        return this.codes;
+    }
+
+    /**
+     * @param i the index of a cell in row-major order (see HexagonLayout.java)
+     * @param code the code of the cell's item
+     * @return the key of cell i holding an item with the given code, 0 for code 0
+     * @precond 0 <= i < HexagonLayout.cellCount(size()) and 0 <= code < codes()
+     */
+    public long key(int i, int code) {
+        if (code < 0 || code >= this.codes) {
+            throw new RuntimeException("Item code " + code + " is not between 0 and " + (this.codes - 1));
+        } else {}
+        if (code == 0) {
+            return 0;
+        } else {}
+        // the SplitMix64 finaliser of a number that is different for every cell and code
+        long z = SEED + ((long) i * MAX_CODES + code) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonZobrist.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that two HexagonZobrists of the same size give the same keys, and that code 0 has key 0
+        HexagonZobrist zobrist = new HexagonZobrist(3, 4);
+        if (zobrist.key(7, 2) != new HexagonZobrist(3, 4).key(7, 2) || zobrist.key(5, 0) != 0) {
+            System.out.println("Error: equal HexagonZobrists gave different keys, or code 0 does not have key 0");
+            uErrors += 1;
+        } else {}
+
+        // test a number of codes that is too big
+        try {
+            new HexagonZobrist(300, MAX_CODES + 1);
+            System.out.println("Error: HexagonZobrist() constructor did not throw an exception for " + (MAX_CODES + 1) + " codes");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("HexagonZobrist() constructor correctly caught exception for invalid input.");
+        }
+
+        // test that every other key is different
+        HashSet<Long> seen = new HashSet<>();
+        for (int i = 0; i < HexagonLayout.cellCount(3); i++) {
+            for (int c = 1; c < 4; c++) {
+                if (!seen.add(zobrist.key(i, c)) || zobrist.key(i, c) == 0) {
+                    System.out.println("Error: key(" + i + ", " + c + ") is 0 or the same as another key");
+                    uErrors += 1;
+                } else {}
+            }
+        }
+
+        // test a code that is out of range
+        try {
+            zobrist.key(0, 4);
+            System.out.println("Error: key() did not throw an exception for code 4 when there are 4 codes");
+            uErrors += 1;
+        }
+        catch (RuntimeException e) {
+            System.out.println("key() correctly caught exception for invalid input.");
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,258 @@
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * IntHexagonBoard is a board like FlatHexagonBoard where every cell holds an int instead of an object,
+ * the values are kept in one int[] in row-major order so they are never boxed.
+ * Every cell starts with the value 0.
+ */
+public class IntHexagonBoard extends AbstractFlatHexagonBoard {
+    private int[] values; // the value of every cell, in row-major order
+
+    private HexagonZobrist zobrist; // the keys of the running hash, null if the hash is not kept
+    private long hash; // the Zobrist hash of the values of every cell
+
+    /**
+     * Constructor method for a new IntHexagonBoard.
+     * @param sz the size of the IntHexagonBoard
+     * @precond sz >= 0
+     */
+    public IntHexagonBoard(int sz) {
+        super(sz);
+        this.values = new int[this.cellCount()];
+    }
+
+    /**
+     * @return the value stored in the centre cell
+     */
+    public int centreNodeItem() {
+        return this.values[this.centreIndex()];
+    }
+
+    /**
+     * Set the centre cell's value equal to x.
+     * @param x the value to be placed in the centre cell
+     */
+    public void setCentreNodeItem(int x) {
+        this.set(this.centreIndex(), x);
+    }
+
+    /**
+     * @return the value stored in the current cell
+     */
+    public int currentNodeItem() {
+        return this.values[this.index()];
+    }
+
+    /**
+     * Set the current cell's value equal to x.
+     * @param x value to be placed in the current cell
+     */
+    public void setCurrentNodeItem(int x) {
+        this.set(this.index(), x);
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the value stored in the cell at row r and column c, the cursor does not move
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public int get(int r, int c) {
+        return this.values[this.index(r, c)];
+    }
+
+    /**
+     * Set the value of the cell at row r and column c equal to x, the cursor does not move.
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @param x the value to be placed in the cell
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public void set(int r, int c, int x) {
+        this.set(this.index(r, c), x);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the value stored in cell i
+     * @precond 0 <= i < cellCount()
+     */
+    public int get(int i) {
+        return this.values[i];
+    }
+
+    /**
+     * Set the value of cell i equal to x, the cursor does not move.
+     * @param i the index of a cell in row-major order
+     * @param x the value to be placed in the cell
+     * @precond 0 <= i < cellCount()
+     */
+    public void set(int i, int x) {
+        if (this.zobrist != null) {
+            this.hash ^= this.zobrist.key(i, x) ^ this.zobrist.key(i, this.values[i]);
+        } else {}
+        this.values[i] = x;
+        this.changed(i);
+    }
+
+    /**
+     * Start keeping a Zobrist hash of the values of every cell (see HexagonZobrist.java),
+     * after this every set() updates the hash in constant time.
+     * Each value is its own item code, so every value must be between 0 and codes - 1.
+     * The cursor is not part of the hash. Boards of the same size with the same codes and values have the same hash.
+     * @param codes the number of different values the cells can hold, at most HexagonZobrist.MAX_CODES
+     * @precond every value on the board is between 0 and codes - 1
+     */
+    public void trackHash(int codes) {
+        HexagonZobrist keys = new HexagonZobrist(this.size(), codes);
+        long h = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            h ^= keys.key(i, this.values[i]);
+        }
+        this.zobrist = keys;
+        this.hash = h;
+    }
+
+    /**
+     * @return the Zobrist hash of the values of every cell
+     * @precond trackHash() was called
+     */
+    public long hash() {
+        if (this.zobrist == null) {
+            throw new RuntimeException("Call trackHash() before hash()");
+        } else {}
+        return this.hash;
+    }
+
+    /**
+     * Give the value of every cell to action, in row-major order.
+     * @param action what to do with each value
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < this.values.length; i++) {
+            action.accept(this.values[i]);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing IntHexagonBoard.java");
+        int uErrors = 0; // unintentional errors
+
+        // test IntHexagonBoard constructor with a board of size -1
+        try {
+            IntHexagonBoard invalidBoard = new IntHexagonBoard(-1);
+            System.out.println("Error: IntHexagonBoard() constructor did not throw an exception for a board of size -1");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("IntHexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+
+        try {
+            // test that every cell starts at 0, and that the lowest and highest ints are kept exactly
+            IntHexagonBoard extremes = new IntHexagonBoard(2);
+            int zeros = 0;
+            for (int i = 0; i < extremes.cellCount(); i++) {
+                zeros += extremes.get(i) == 0 ? 1 : 0;
+            }
+            if (zeros != 19) {
+                System.out.println("Error: every cell of a new board should be 0, but only " + zeros + " of 19 are");
+                uErrors += 1;
+            } else {}
+            extremes.goUpLeft();
+            extremes.setCurrentNodeItem(Integer.MIN_VALUE);
+            extremes.setCentreNodeItem(Integer.MAX_VALUE);
+            if (extremes.currentNodeItem() != Integer.MIN_VALUE || extremes.centreNodeItem() != Integer.MAX_VALUE
+                    || extremes.index() == extremes.centreIndex()) {
+                System.out.println("Error: the lowest and highest ints were not kept in the cells they were set in");
+                uErrors += 1;
+            } else {}
+            long[] sum = new long[1];
+            extremes.forEach(v -> sum[0] += v);
+            if (sum[0] != -1) {
+                System.out.println("Error: forEach() should add the lowest and highest ints up to -1, but added up to " + sum[0]);
+                uErrors += 1;
+            } else {}
+            // a negative value has no item code, so it cannot be hashed
+            try {
+                extremes.trackHash(HexagonZobrist.MAX_CODES);
+                System.out.println("Error: trackHash() did not throw an exception for a cell holding " + Integer.MIN_VALUE);
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("trackHash() correctly caught exception for invalid input.");
+            }
+
+            // test get(), set(), and forEach()
+            IntHexagonBoard board = new IntHexagonBoard(3);
+            board.set(0, 3, 7);
+            board.set(6, 0, 9);
+            board.set(board.centreIndex(), 11);
+            if (board.get(0, 3) != 7 || board.get(board.cellCount() - 4) != 9 || board.centreNodeItem() != 11) {
+                System.out.println("Error: get() did not return the values given to set()");
+                uErrors += 1;
+            } else {}
+            long[] total = new long[1];
+            board.forEach(v -> total[0] += v);
+            if (total[0] != 27) {
+                System.out.println("Error: forEach() should add up to 27, but added up to " + total[0]);
+                uErrors += 1;
+            } else {}
+
+            // test neighbours() and forEachNeighbour() by adding up the neighbours of the cell at row 1, column 3
+            int[] neighbours = new int[HexagonLayout.DIRECTIONS];
+            int count = board.neighbours(board.index(1, 3), neighbours);
+            total[0] = 0;
+            board.forEachNeighbour(board.index(1, 3), n -> total[0] += board.get(n));
+            if (count != 6 || total[0] != 7 || neighbours[0] != board.index(0, 2) || neighbours[5] != board.index(2, 4)) {
+                System.out.println("Error: neighbours() or forEachNeighbour() did not find the 6 neighbours of row 1, column 3");
+                uErrors += 1;
+            } else {}
+            if (board.topology() != new IntHexagonBoard(3).topology() || board.topology() != HexagonTopology.of(3)) {
+                System.out.println("Error: boards of the same size do not share one HexagonTopology");
+                uErrors += 1;
+            } else {}
+
+            // test that the hash kept by set() matches a hash worked out from scratch after many random sets
+            IntHexagonBoard hashed = new IntHexagonBoard(4);
+            hashed.trackHash(5);
+            if (hashed.hash() != 0) {
+                System.out.println("Error: an empty board should hash to 0");
+                uErrors += 1;
+            } else {}
+            Random random = new Random(22);
+            for (int k = 0; k < 1000; k++) {
+                hashed.set(random.nextInt(hashed.cellCount()), random.nextInt(5));
+            }
+            long kept = hashed.hash();
+            IntHexagonBoard copy = new IntHexagonBoard(4);
+            hashed.cellStream().forEach(i -> copy.set(i, hashed.get(i)));
+            copy.trackHash(5);
+            if (kept != copy.hash()) {
+                System.out.println("Error: the hash kept by set() is not the same as the hash of the same values");
+                uErrors += 1;
+            } else {}
+            int old = hashed.get(17);
+            hashed.set(17, (old + 1) % 5);
+            if (hashed.hash() == kept) {
+                System.out.println("Error: changing a cell did not change the hash");
+                uErrors += 1;
+            } else {}
+            hashed.set(17, old);
+            if (hashed.hash() != kept) {
+                System.out.println("Error: putting a cell back did not put the hash back");
+                uErrors += 1;
+            } else {}
+        }
+        catch (Exception e) {
+            System.out.println("Error: IntHexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
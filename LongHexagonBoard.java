@@ -0,0 +1,245 @@
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * LongHexagonBoard is a board like FlatHexagonBoard where every cell holds a long instead of an object,
+ * the values are kept in one long[] in row-major order so they are never boxed.
+ * Every cell starts with the value 0.
+ * Like IntHexagonBoard, it can keep a Zobrist hash of its values (see trackHash()),
+ * as long as every value is a small item code.
+ */
+public class LongHexagonBoard extends AbstractFlatHexagonBoard {
+    private long[] values; // the value of every cell, in row-major order
+
+    private HexagonZobrist zobrist; // the keys of the running hash, null if the hash is not kept
+    private long hash; // the Zobrist hash of the values of every cell
+
+    /**
+     * Constructor method for a new LongHexagonBoard.
+     * @param sz the size of the LongHexagonBoard
+     * @precond sz >= 0
+     */
+    public LongHexagonBoard(int sz) {
+        super(sz);
+        this.values = new long[this.cellCount()];
+    }
+
+    /**
+     * @return the value stored in the centre cell
+     */
+    public long centreNodeItem() {
+        return this.values[this.centreIndex()];
+    }
+
+    /**
+     * Set the centre cell's value equal to x.
+     * @param x the value to be placed in the centre cell
+     */
+    public void setCentreNodeItem(long x) {
+        this.set(this.centreIndex(), x);
+    }
+
+    /**
+     * @return the value stored in the current cell
+     */
+    public long currentNodeItem() {
+        return this.values[this.index()];
+    }
+
+    /**
+     * Set the current cell's value equal to x.
+     * @param x value to be placed in the current cell
+     */
+    public void setCurrentNodeItem(long x) {
+        this.set(this.index(), x);
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the value stored in the cell at row r and column c, the cursor does not move
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public long get(int r, int c) {
+        return this.values[this.index(r, c)];
+    }
+
+    /**
+     * Set the value of the cell at row r and column c equal to x, the cursor does not move.
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @param x the value to be placed in the cell
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public void set(int r, int c, long x) {
+        this.set(this.index(r, c), x);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the value stored in cell i
+     * @precond 0 <= i < cellCount()
+     */
+    public long get(int i) {
+        return this.values[i];
+    }
+
+    /**
+     * Set the value of cell i equal to x, the cursor does not move.
+     * @param i the index of a cell in row-major order
+     * @param x the value to be placed in the cell
+     * @precond 0 <= i < cellCount()
+     */
+    public void set(int i, long x) {
+        if (this.zobrist != null) {
+            this.hash ^= this.zobrist.key(i, code(x)) ^ this.zobrist.key(i, code(this.values[i]));
+        } else {}
+        this.values[i] = x;
+        this.changed(i);
+    }
+
+    /**
+     * Start keeping a Zobrist hash of the values of every cell (see HexagonZobrist.java),
+     * after this every set() updates the hash in constant time.
+     * Each value is its own item code, so every value must be between 0 and codes - 1.
+     * The cursor is not part of the hash. Boards of the same size with the same codes and values have the same hash.
+     * @param codes the number of different values the cells can hold, at most HexagonZobrist.MAX_CODES
+     * @precond every value on the board is between 0 and codes - 1
+     */
+    public void trackHash(int codes) {
+        HexagonZobrist keys = new HexagonZobrist(this.size(), codes);
+        long h = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            h ^= keys.key(i, code(this.values[i]));
+        }
+        this.zobrist = keys;
+        this.hash = h;
+    }
+
+    /**
+     * @return the Zobrist hash of the values of every cell
+     * @precond trackHash() was called
+     */
+    public long hash() {
+        if (this.zobrist == null) {
+            throw new RuntimeException("Call trackHash() before hash()");
+        } else {}
+        return this.hash;
+    }
+
+    /**
+     * @return x as an item code, a value too big for an int becomes -1 so that HexagonZobrist.key() rejects it
+     */
+    private static int code(long x) {
+        return x == (int) x ? (int) x : -1;
+    }
+
+    /**
+     * Give the value of every cell to action, in row-major order.
+     * @param action what to do with each value
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < this.values.length; i++) {
+            action.accept(this.values[i]);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing LongHexagonBoard.java");
+        int uErrors = 0; // unintentional errors
+
+        // test LongHexagonBoard constructor with a board of size -1
+        try {
+            LongHexagonBoard invalidBoard = new LongHexagonBoard(-1);
+            System.out.println("Error: LongHexagonBoard() constructor did not throw an exception for a board of size -1");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("LongHexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+
+        try {
+            // test that values outside the range of an int, and the lowest and highest longs, are kept exactly
+            LongHexagonBoard extremes = new LongHexagonBoard(2);
+            if (extremes.centreNodeItem() != 0) {
+                System.out.println("Error: centreNodeItem() should return 0, but returned " + extremes.centreNodeItem());
+                uErrors += 1;
+            } else {}
+            extremes.setCentreNodeItem((1L << 40) + 1);
+            extremes.goDownRight();
+            extremes.setCurrentNodeItem(Long.MIN_VALUE);
+            extremes.set(0, Long.MAX_VALUE);
+            if (extremes.centreNodeItem() != (1L << 40) + 1 || extremes.currentNodeItem() != Long.MIN_VALUE
+                    || extremes.get(0, 0) != Long.MAX_VALUE || (int) extremes.centreNodeItem() != 1) {
+                System.out.println("Error: the values set outside the range of an int were not kept exactly");
+                uErrors += 1;
+            } else {}
+            long[] sum = new long[1];
+            extremes.forEach(v -> sum[0] += v);
+            if (sum[0] != (1L << 40)) {
+                System.out.println("Error: forEach() should add up to " + (1L << 40) + ", but added up to " + sum[0]);
+                uErrors += 1;
+            } else {}
+
+            // test get(), set(), and forEach()
+            LongHexagonBoard board = new LongHexagonBoard(3);
+            board.set(0, 3, (long) 7);
+            board.set(6, 0, (long) 9);
+            board.set(board.centreIndex(), (long) 11);
+            if (board.get(0, 3) != 7 || board.get(board.cellCount() - 4) != 9 || board.centreNodeItem() != 11) {
+                System.out.println("Error: get() did not return the values given to set()");
+                uErrors += 1;
+            } else {}
+            long[] total = new long[1];
+            board.forEach(v -> total[0] += v);
+            if (total[0] != 27) {
+                System.out.println("Error: forEach() should add up to 27, but added up to " + total[0]);
+                uErrors += 1;
+            } else {}
+
+            // test ring() and spiral() around the centre cell, the outer ring is the edge of the board
+            total[0] = 0;
+            board.spiral(board.centreIndex(), 3).forEachRemaining((int i) -> total[0] += board.get(i));
+            int edge = 0;
+            PrimitiveIterator.OfInt ring = board.ring(board.centreIndex(), 3);
+            while (ring.hasNext()) {
+                edge += board.get(ring.nextInt()) > 0 ? 1 : 0;
+            }
+            if (total[0] != 27 || edge != 2) {
+                System.out.println("Error: spiral() should add up to 27 and ring() should find 2 values on the edge");
+                uErrors += 1;
+            } else {}
+            if (board.distance(0, board.cellCount() - 1) != 6 || board.distance(board.centreIndex(), board.index(0, 3)) != 3
+                    || board.distance(board.index(1, 1), board.index(1, 1)) != 0) {
+                System.out.println("Error: distance() did not return the number of moves between two cells");
+                uErrors += 1;
+            } else {}
+
+            // test the hash, and that a value past the range of an int is not taken for the item code it wraps around to
+            LongHexagonBoard hashed = new LongHexagonBoard(1);
+            hashed.trackHash(2);
+            hashed.setCentreNodeItem(1);
+            if (hashed.hash() != new HexagonZobrist(1, 2).key(hashed.centreIndex(), 1)) {
+                System.out.println("Error: a board holding only a 1 at the centre should hash to the key of that cell");
+                uErrors += 1;
+            } else {}
+            try {
+                hashed.set(0, (1L << 32) + 1);
+                System.out.println("Error: set() did not throw an exception for " + ((1L << 32) + 1) + ", which is not an item code");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("set() correctly caught exception for invalid input.");
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: LongHexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
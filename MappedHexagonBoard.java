@@ -0,0 +1,243 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A MappedHexagonBoard is an OffHeapHexagonBoard whose cells are a memory-mapped file.
+ * The file starts with a HexagonBoardHeader followed by the cells, so opening a saved board
+ * only maps the file instead of reading it, and setting a cell only changes a page that the
+ * operating system writes back to the file.
+ * Until then a change is only in memory, and is lost if the machine stops. Call force() to make sure every change
+ * has reached the file, for example after a checkpoint. close() forces the changes and then unmaps the file at once.
+ */
+public class MappedHexagonBoard extends OffHeapHexagonBoard {
+
+    /**
+     * Constructor method for a board over a mapped file.
+     * @param header the header of the file
+     * @param buffer the mapped file, including the header
+     */
+    private MappedHexagonBoard(HexagonBoardHeader header, MappedByteBuffer buffer) {
+        super(header.size(), header.cellWidth(), buffer.order(HexagonBoardHeader.ORDER), HexagonBoardHeader.BYTES, true);
+    }
+
+    /**
+     * Make a new file for a board, every cell starts with the value 0.
+     * If the file already exists it is replaced.
+     * @param path the file to make
+     * @param sz the size of the board
+     * @param width the number of bytes in each cell, 1, 2, 4, or 8
+     * @return the board over the new file
+     * @throws IOException if the file cannot be made
+     * @precond sz >= 0
+     */
+    public static MappedHexagonBoard create(Path path, int sz, int width) throws IOException {
+        if (sz < 0 || sz > HexagonLayout.MAX_SIZE) {
+            throw new RuntimeException("MappedHexagonBoard must have size between 0 and " + HexagonLayout.MAX_SIZE);
+        } else {}
+        checkWidth(width);
+        long bytes = HexagonBoardHeader.BYTES + (long) HexagonLayout.cellCount(sz) * width;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new RuntimeException("MappedHexagonBoard of size " + sz + " is too big for one mapping");
+        } else {}
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            HexagonBoardHeader header = new HexagonBoardHeader(sz, width);
+            header.write(buffer.duplicate());
+            return new MappedHexagonBoard(header, buffer);
+        }
+    }
+
+    /**
+     * Open a board that was saved in a file, its size and cell width are read from the header.
+     * @param path the file to open
+     * @return the board over the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static MappedHexagonBoard open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HexagonBoardHeader.BYTES) {
+                throw new RuntimeException(path + " is too short to be a saved HexagonBoard");
+            } else {}
+            ByteBuffer headerBytes = ByteBuffer.allocate(HexagonBoardHeader.BYTES);
+            while (headerBytes.hasRemaining() && channel.read(headerBytes, headerBytes.position()) >= 0) {
+                // keep reading until the header is full
+            }
+            headerBytes.flip();
+            HexagonBoardHeader header = HexagonBoardHeader.read(headerBytes);
+            checkWidth(header.cellWidth());
+            if (header.size() > HexagonLayout.MAX_SIZE) {
+                throw new RuntimeException(path + " holds a board of size " + header.size()
+                        + ", but a board can have size at most " + HexagonLayout.MAX_SIZE);
+            } else {}
+            long bytes = HexagonBoardHeader.BYTES + (long) HexagonLayout.cellCount(header.size()) * header.cellWidth();
+            if (bytes > Integer.MAX_VALUE) {
+                throw new RuntimeException("MappedHexagonBoard of size " + header.size() + " is too big for one mapping");
+            } else {}
+            if (channel.size() < bytes) {
+                throw new RuntimeException(path + " is too short for a board of size " + header.size());
+            } else {}
+            return new MappedHexagonBoard(header, channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes));
+        }
+    }
+
+    /**
+     * Open a board that was saved in a file, and check that it has the expected size and cell width.
+     * @param path the file to open
+     * @param sz the size the board should have
+     * @param width the number of bytes each cell should have
+     * @return the board over the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static MappedHexagonBoard open(Path path, int sz, int width) throws IOException {
+        MappedHexagonBoard board = open(path);
+        try {
+            new HexagonBoardHeader(board.size(), board.cellWidth()).check(sz, width);
+        }
+        catch (RuntimeException e) {
+            board.close();
+            throw e;
+        }
+        return board;
+    }
+
+    /**
+     * Write every change to the cells back to the file.
+     */
+    public void force() {
+        ((MappedByteBuffer) this.buffer()).force();
+    }
+
+    /**
+     * Write every change to the cells back to the file and unmap it, after this the board cannot be used.
+     * Closing a board again does nothing.
+     */
+    @Override
+    public void close() {
+        if (!this.isClosed()) {
+            this.force();
+        } else {}
+        super.close();
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing MappedHexagonBoard.java");
+        int uErrors = 0; // unintentional errors
+
+        Path path = null;
+        try {
+            path = Files.createTempFile("hexagon-board", ".hexb");
+
+            // make a board, change some cells, and open it again
+            MappedHexagonBoard board = MappedHexagonBoard.create(path, 3, 4);
+            Random random = new Random(3);
+            int[] values = new int[board.cellCount()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt();
+                board.set(i, values[i]);
+            }
+            board.goUpRight();
+            board.setCurrentNodeItem(42);
+            values[board.index()] = 42;
+            board.force();
+            board.close();
+
+            if (Files.size(path) != HexagonBoardHeader.BYTES + 37 * 4) {
+                System.out.println("Error: the file should be " + (HexagonBoardHeader.BYTES + 37 * 4)
+                        + " bytes long, but is " + Files.size(path));
+                uErrors += 1;
+            } else {}
+
+            MappedHexagonBoard reopened = MappedHexagonBoard.open(path, 3, 4);
+            for (int i = 0; i < values.length; i++) {
+                if (reopened.get(i) != values[i]) {
+                    System.out.println("Error: cell " + i + " should be " + values[i] + " after opening the file again,"
+                            + " but is " + reopened.get(i));
+                    uErrors += 1;
+                } else {}
+            }
+            if (reopened.get(2, 3) != 42) {
+                System.out.println("Error: get(2, 3) should return 42, but returned " + reopened.get(2, 3));
+                uErrors += 1;
+            } else {}
+            reopened.close();
+
+            // test open() with the wrong size and cell width
+            try {
+                MappedHexagonBoard.open(path, 4, 4);
+                System.out.println("Error: open() did not throw an exception for the wrong size");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("open() correctly caught exception for the wrong size.");
+            }
+            try {
+                MappedHexagonBoard.open(path, 3, 8);
+                System.out.println("Error: open() did not throw an exception for the wrong cell width");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("open() correctly caught exception for the wrong cell width.");
+            }
+
+            // test a header with a size too big to lay out, and create() over a file that already exists
+            ByteBuffer tooBig = ByteBuffer.allocate(HexagonBoardHeader.BYTES);
+            new HexagonBoardHeader(HexagonLayout.MAX_SIZE + 1, 1).write(tooBig);
+            Files.write(path, tooBig.array());
+            try {
+                MappedHexagonBoard.open(path);
+                System.out.println("Error: open() did not throw an exception for a board of size " + (HexagonLayout.MAX_SIZE + 1));
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("open() correctly caught exception for a board that is too big.");
+            }
+            MappedHexagonBoard replaced = MappedHexagonBoard.create(path, 1, 2);
+            replaced.setCentreNodeItem(3);
+            replaced.close();
+            replaced.close();
+            MappedHexagonBoard small = MappedHexagonBoard.open(path, 1, 2);
+            if (Files.size(path) != HexagonBoardHeader.BYTES + 7 * 2 || small.centreNodeItem() != 3) {
+                System.out.println("Error: create() should replace the old file with a board of size 1");
+                uErrors += 1;
+            } else {}
+            small.close();
+
+            // test open() with a file that is not a saved board
+            Files.write(path, new byte[64]);
+            try {
+                MappedHexagonBoard.open(path);
+                System.out.println("Error: open() did not throw an exception for a file that is not a saved board");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("open() correctly caught exception for a file that is not a saved board.");
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: MappedHexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        finally {
+            try {
+                if (path != null) {
+                    Files.deleteIfExists(path);
+                } else {}
+            }
+            catch (IOException e) {
+                System.out.println("Could not delete " + path);
+            }
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
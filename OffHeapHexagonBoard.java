@@ -0,0 +1,364 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * An OffHeapHexagonBoard is a board like LongHexagonBoard whose cells are kept outside of the Java heap,
+ * in a direct ByteBuffer, so a very large board does not make garbage collection slower.
+ * Every cell is a record of the same width (1, 2, 4, or 8 bytes) in row-major order (see HexagonLayout.java).
+ * A value is cut down to the cell width when it is set, and is sign extended back to a long when it is read.
+ * Every cell starts with the value 0.
+ *
+ * Call close() when the board is no longer needed, after that the board cannot be used.
+ * If the board allocated its own buffer, close() frees the memory at once with sun.misc.Unsafe.invokeCleaner()
+ * from the jdk.unsupported module, instead of waiting for the buffer to be garbage collected.
+ * A buffer that was given to the constructor belongs to whoever made it, and close() only lets go of it.
+ * A board must not be used by another thread while it is being closed, since the memory it frees is gone.
+ */
+public class OffHeapHexagonBoard extends AbstractFlatHexagonBoard implements AutoCloseable {
+    private ByteBuffer cells; // null once the board is closed
+    private final int offset; // the position of the first cell in the buffer
+    private final int cellWidth; // the number of bytes in each cell
+    private final boolean owned; // true if the buffer was allocated by this board, so close() frees it
+
+    private static final Object UNSAFE; // sun.misc.Unsafe.theUnsafe, or null if it cannot be reached
+    private static final Method INVOKE_CLEANER; // sun.misc.Unsafe.invokeCleaner(ByteBuffer), or null
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            // found by name so that this class compiles without warnings about internal APIs
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            // the memory is given back when the buffer is garbage collected instead
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Constructor method for a new OffHeapHexagonBoard.
+     * @param sz the size of the OffHeapHexagonBoard
+     * @param width the number of bytes in each cell, 1, 2, 4, or 8
+     * @precond sz >= 0
+     */
+    public OffHeapHexagonBoard(int sz, int width) {
+        this(sz, width, allocate(sz, width), 0, true);
+    }
+
+    /**
+     * Constructor method for a board over a buffer that has already been made, such as a mapped file.
+     * @param sz the size of the board
+     * @param width the number of bytes in each cell, 1, 2, 4, or 8
+     * @param buffer the buffer that holds the cells
+     * @param start the position of the first cell in the buffer
+     * @precond buffer has room for every cell after start
+     */
+    protected OffHeapHexagonBoard(int sz, int width, ByteBuffer buffer, int start) {
+        this(sz, width, buffer, start, false);
+    }
+
+    /**
+     * Constructor method for a board over a buffer.
+     * @param sz the size of the board
+     * @param width the number of bytes in each cell, 1, 2, 4, or 8
+     * @param buffer the buffer that holds the cells
+     * @param start the position of the first cell in the buffer
+     * @param own true if close() should free the buffer, which must then not be used anywhere else
+     * @precond buffer has room for every cell after start
+     */
+    protected OffHeapHexagonBoard(int sz, int width, ByteBuffer buffer, int start, boolean own) {
+        super(sz);
+        checkWidth(width);
+        if ((long) start + (long) this.cellCount() * width > buffer.capacity()) {
+            throw new RuntimeException("Buffer is too small for a board of size " + sz);
+        } else {}
+        this.cells = buffer;
+        this.offset = start;
+        this.cellWidth = width;
+        this.owned = own;
+    }
+
+    /**
+     * @return a new direct buffer with room for every cell of a board of the given size
+     */
+    private static ByteBuffer allocate(int sz, int width) {
+        checkWidth(width);
+        if (sz < 0 || sz > HexagonLayout.MAX_SIZE) {
+            throw new RuntimeException("OffHeapHexagonBoard must have size between 0 and " + HexagonLayout.MAX_SIZE);
+        } else {}
+        long bytes = (long) HexagonLayout.cellCount(sz) * width;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new RuntimeException("OffHeapHexagonBoard of size " + sz + " is too big for one buffer");
+        } else {}
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Throw an exception if width is not a width a cell can have.
+     */
+    static void checkWidth(int width) {
+        if (width != 1 && width != 2 && width != 4 && width != 8) {
+            throw new RuntimeException("Cell width must be 1, 2, 4, or 8 bytes, not " + width);
+        } else {}
+    }
+
+    /**
+     * @return the number of bytes in each cell
+     */
+    public int cellWidth() {
+        return this.cellWidth;
+    }
+
+    /**
+     * @return true if close() has been called, false otherwise
+     */
+    public boolean isClosed() {
+        return this.cells == null;
+    }
+
+    /**
+     * Let go of the cells, after this every method that reads or writes a cell throws an exception.
+     * The memory of a buffer this board allocated is freed now, closing a board again does nothing.
+     */
+    public void close() {
+        ByteBuffer buffer = this.cells;
+        this.cells = null;
+        if (buffer != null && this.owned && INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            }
+            catch (ReflectiveOperationException e) {
+                // the memory is given back when the buffer is garbage collected instead
+            }
+        } else {}
+    }
+
+    /**
+     * @return the buffer that holds the cells
+     */
+    protected ByteBuffer buffer() {
+        if (this.cells == null) {
+            throw new RuntimeException(this.getClass().getSimpleName() + " is closed");
+        } else {}
+        return this.cells;
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the value stored in cell i
+     * @precond 0 <= i < cellCount()
+     */
+    public long get(int i) {
+        ByteBuffer buffer = this.buffer();
+        int position = this.offset + i * this.cellWidth;
+        switch (this.cellWidth) {
+            case 1: return buffer.get(position);
+            case 2: return buffer.getShort(position);
+            case 4: return buffer.getInt(position);
+            default: return buffer.getLong(position);
+        }
+    }
+
+    /**
+     * Set the value of cell i equal to x, the cursor does not move.
+     * @param i the index of a cell in row-major order
+     * @param x the value to be placed in the cell
+     * @precond 0 <= i < cellCount()
+     */
+    public void set(int i, long x) {
+        ByteBuffer buffer = this.buffer();
+        int position = this.offset + i * this.cellWidth;
+        switch (this.cellWidth) {
+            case 1: buffer.put(position, (byte) x); break;
+            case 2: buffer.putShort(position, (short) x); break;
+            case 4: buffer.putInt(position, (int) x); break;
+            default: buffer.putLong(position, x); break;
+        }
+        this.changed(i);
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the value stored in the cell at row r and column c, the cursor does not move
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public long get(int r, int c) {
+        return this.get(this.index(r, c));
+    }
+
+    /**
+     * Set the value of the cell at row r and column c equal to x, the cursor does not move.
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @param x the value to be placed in the cell
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public void set(int r, int c, long x) {
+        this.set(this.index(r, c), x);
+    }
+
+    /**
+     * @return the value stored in the centre cell
+     */
+    public long centreNodeItem() {
+        return this.get(this.centreIndex());
+    }
+
+    /**
+     * Set the centre cell's value equal to x.
+     * @param x the value to be placed in the centre cell
+     */
+    public void setCentreNodeItem(long x) {
+        this.set(this.centreIndex(), x);
+    }
+
+    /**
+     * @return the value stored in the current cell
+     */
+    public long currentNodeItem() {
+        return this.get(this.index());
+    }
+
+    /**
+     * Set the current cell's value equal to x.
+     * @param x value to be placed in the current cell
+     */
+    public void setCurrentNodeItem(long x) {
+        this.set(this.index(), x);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing OffHeapHexagonBoard.java");
+        int uErrors = 0; // unintentional errors
+
+        // test OffHeapHexagonBoard constructor with invalid input
+        try {
+            OffHeapHexagonBoard invalidBoard = new OffHeapHexagonBoard(-1, 8);
+            System.out.println("Error: OffHeapHexagonBoard() constructor did not throw an exception for a board of size -1");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("OffHeapHexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+        try {
+            OffHeapHexagonBoard invalidBoard = new OffHeapHexagonBoard(2, 3);
+            System.out.println("Error: OffHeapHexagonBoard() constructor did not throw an exception for a cell width of 3");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("OffHeapHexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+
+        // walk the same path over a LongHexagonBoard and an OffHeapHexagonBoard and compare them after every move
+        try {
+            for (int size = 0; size <= 4; size++) {
+                LongHexagonBoard longBoard = new LongHexagonBoard(size);
+                OffHeapHexagonBoard board = new OffHeapHexagonBoard(size, 8);
+                Random random = new Random(size);
+                for (int step = 0; step < 500; step++) {
+                    boolean longMoved;
+                    boolean moved;
+                    switch (random.nextInt(6)) {
+                        case 0: longMoved = longBoard.goUpLeft(); moved = board.goUpLeft(); break;
+                        case 1: longMoved = longBoard.goUpRight(); moved = board.goUpRight(); break;
+                        case 2: longMoved = longBoard.goMidLeft(); moved = board.goMidLeft(); break;
+                        case 3: longMoved = longBoard.goMidRight(); moved = board.goMidRight(); break;
+                        case 4: longMoved = longBoard.goDownLeft(); moved = board.goDownLeft(); break;
+                        default: longMoved = longBoard.goDownRight(); moved = board.goDownRight(); break;
+                    }
+                    long value = random.nextLong();
+                    longBoard.setCurrentNodeItem(value);
+                    board.setCurrentNodeItem(value);
+                    if (longMoved != moved || longBoard.index() != board.index()
+                            || longBoard.currentNodeItem() != board.currentNodeItem()) {
+                        System.out.println("Error: OffHeapHexagonBoard does not match LongHexagonBoard after step "
+                                + step + " on a board of size " + size);
+                        uErrors += 1;
+                        break;
+                    } else {}
+                }
+                board.close();
+            }
+
+            // test that values are cut down to the cell width
+            int[] widths = {1, 2, 4, 8};
+            long[] cut = {(byte) 0x89, (short) 0x6789, 0x23456789, 0x123456789L};
+            for (int w = 0; w < widths.length; w++) {
+                OffHeapHexagonBoard board = new OffHeapHexagonBoard(2, widths[w]);
+                board.set(4, 2, 0x123456789L);
+                board.set(0, 0, -2);
+                if (board.get(0, 0) != -2) {
+                    System.out.println("Error: get(0, 0) should return -2 for width " + widths[w]
+                            + ", but returned " + board.get(0, 0));
+                    uErrors += 1;
+                } else {}
+                if (board.get(4, 2) != cut[w]) {
+                    System.out.println("Error: get(4, 2) should return " + cut[w] + " for width " + widths[w]
+                            + ", but returned " + board.get(4, 2));
+                    uErrors += 1;
+                } else {}
+                board.close();
+            }
+
+            // test close(), closing twice does nothing the second time
+            OffHeapHexagonBoard closedBoard = new OffHeapHexagonBoard(1, 4);
+            closedBoard.close();
+            closedBoard.close();
+            if (!closedBoard.isClosed()) {
+                System.out.println("Error: isClosed() returned false after close()");
+                uErrors += 1;
+            } else {}
+            try {
+                closedBoard.currentNodeItem();
+                System.out.println("Error: currentNodeItem() did not throw an exception after close()");
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("currentNodeItem() correctly caught exception for a closed board.");
+            }
+
+            // test that closing a board over a buffer it was given leaves the buffer to its owner
+            ByteBuffer given = ByteBuffer.allocateDirect(HexagonLayout.cellCount(1) * 4);
+            OffHeapHexagonBoard borrowed = new OffHeapHexagonBoard(1, 4, given, 0);
+            borrowed.set(0, 0, 5);
+            borrowed.close();
+            given.putInt(4, 6);
+            if (given.getInt(4) != 6 || !borrowed.isClosed()) {
+                System.out.println("Error: close() should not free a buffer the board did not allocate");
+                uErrors += 1;
+            } else {}
+
+            // test a board too big to lay out
+            try {
+                OffHeapHexagonBoard invalidBoard = new OffHeapHexagonBoard(HexagonLayout.MAX_SIZE + 1, 1);
+                System.out.println("Error: OffHeapHexagonBoard() constructor did not throw an exception for a board of size "
+                        + (HexagonLayout.MAX_SIZE + 1));
+                uErrors += 1;
+            }
+            catch (RuntimeException e) {
+                System.out.println("OffHeapHexagonBoard() constructor correctly caught exception for invalid input.");
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: OffHeapHexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
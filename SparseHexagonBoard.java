@@ -0,0 +1,336 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * A SparseHexagonBoard has the same shape, rows, columns, and cursor as a HexagonBoard,
+ * but it only keeps the cells that have an item.
+ * The items are kept in a hash table keyed by the row and column of their cell packed into one long,
+ * and the neighbours of a cell are worked out from its row and column like a FlatHexagonBoard.
+ * A cell with no item is null, and setting a cell's item to null removes the cell from the table,
+ * so the memory a board uses depends on how many cells have an item and not on the size of the board.
+ */
+public class SparseHexagonBoard<I> extends AbstractFlatHexagonBoard {
+    private final CellTable table; // the cells that have an item
+
+    /**
+     * Constructor method for a new SparseHexagonBoard, every cell starts with a null item.
+     * @param sz the size of the SparseHexagonBoard
+     * @precond 0 <= sz <= HexagonLayout.MAX_SIZE
+     */
+    public SparseHexagonBoard(int sz) {
+        super(sz);
+        this.table = new CellTable();
+    }
+
+    /**
+     * @return the number of cells that have an item
+     */
+    public int occupied() {
+        return this.table.count;
+    }
+
+    /**
+     * @return the item stored in the centre cell
+     */
+    public I centreNodeItem() {
+        return this.get(this.size(), this.size());
+    }
+
+    /**
+     * Set the centre cell's item equal to x.
+     * @param x the item to be placed in the centre cell
+     */
+    public void setCentreNodeItem(I x) {
+        this.set(this.size(), this.size(), x);
+    }
+
+    /**
+     * @return the item stored in the current cell
+     */
+    public I currentNodeItem() {
+        return this.get(this.row(), this.col());
+    }
+
+    /**
+     * Set the current cell's item equal to x.
+     * @param x item to be placed in the current cell
+     */
+    public void setCurrentNodeItem(I x) {
+        this.set(this.row(), this.col(), x);
+    }
+
+    /**
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @return the item stored in the cell at row r and column c, the cursor does not move
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    @SuppressWarnings("unchecked")
+    public I get(int r, int c) {
+        this.index(r, c); // check that the cell is on the board
+        return (I) this.table.get(key(r, c));
+    }
+
+    /**
+     * Set the item of the cell at row r and column c equal to x, the cursor does not move.
+     * @param r the row index of a cell
+     * @param c the column index of a cell
+     * @param x the item to be placed in the cell, or null to remove the cell's item
+     * @precond r and c are a row and column on the board (see the top of HexagonBoard.java)
+     */
+    public void set(int r, int c, I x) {
+        int i = this.index(r, c);
+        if (x == null) {
+            this.table.remove(key(r, c));
+        }
+        else {
+            this.table.put(key(r, c), x);
+        }
+        this.changed(i);
+    }
+
+    /**
+     * @param i the index of a cell in row-major order
+     * @return the item stored in cell i
+     * @precond 0 <= i < cellCount()
+     */
+    public I get(int i) {
+        int r = HexagonLayout.rowOf(this.size(), i);
+        return this.get(r, i - HexagonLayout.rowStart(this.size(), r));
+    }
+
+    /**
+     * Set the item of cell i equal to x, the cursor does not move.
+     * @param i the index of a cell in row-major order
+     * @param x the item to be placed in the cell, or null to remove the cell's item
+     * @precond 0 <= i < cellCount()
+     */
+    public void set(int i, I x) {
+        int r = HexagonLayout.rowOf(this.size(), i);
+        this.set(r, i - HexagonLayout.rowStart(this.size(), r), x);
+    }
+
+    /**
+     * Give every item that is not null to action, along with the index of its cell in row-major order.
+     * The cells are not given in any particular order.
+     * @param action what to do with each item and index
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super I> action) {
+        long[] keys = this.table.keys;
+        Object[] values = this.table.values;
+        for (int k = 0; k < keys.length; k++) {
+            if (keys[k] != CellTable.EMPTY) {
+                int r = (int) (keys[k] >>> 32);
+                int c = (int) keys[k];
+                action.accept((I) values[k], HexagonLayout.index(this.size(), r, c));
+            } else {}
+        }
+    }
+
+    /**
+     * @return the row and column of a cell packed into one long, the row in the high 32 bits
+     */
+    private static long key(int r, int c) {
+        return ((long) r << 32) | (c & 0xFFFFFFFFL);
+    }
+
+    /**
+     * CellTable is a hash table from long keys to items that keeps the keys in a long[] instead of boxing them.
+     * Collisions are resolved by linear probing, and removing a key shifts the keys after it back,
+     * so the table never fills up with removed entries.
+     */
+    private static final class CellTable {
+        /** The key of a slot with nothing in it, no cell has a negative row. */
+        static final long EMPTY = -1L;
+
+        long[] keys;
+        Object[] values;
+        int count;
+
+        CellTable() {
+            this.keys = new long[16];
+            Arrays.fill(this.keys, EMPTY);
+            this.values = new Object[16];
+            this.count = 0;
+        }
+
+        /**
+         * @return the slot of the given key, or the empty slot it would be put in
+         */
+        private int slot(long key) {
+            int mask = this.keys.length - 1;
+            int k = hash(key) & mask;
+            while (this.keys[k] != EMPTY && this.keys[k] != key) {
+                k = (k + 1) & mask;
+            }
+            return k;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        Object get(long key) {
+            int k = this.slot(key);
+            return this.keys[k] == EMPTY ? null : this.values[k];
+        }
+
+        void put(long key, Object value) {
+            int k = this.slot(key);
+            if (this.keys[k] == EMPTY) {
+                if (2 * (this.count + 1) > this.keys.length) {
+                    // keep the table at most half full so that probes stay short
+                    this.grow();
+                    k = this.slot(key);
+                } else {}
+                this.keys[k] = key;
+                this.count += 1;
+            } else {}
+            this.values[k] = value;
+        }
+
+        void remove(long key) {
+            int mask = this.keys.length - 1;
+            int k = this.slot(key);
+            if (this.keys[k] == EMPTY) {
+                return;
+            } else {}
+            this.count -= 1;
+            // move back any key after the hole that would not be found past it any more
+            int hole = k;
+            int next = (hole + 1) & mask;
+            while (this.keys[next] != EMPTY) {
+                int home = hash(this.keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    this.keys[hole] = this.keys[next];
+                    this.values[hole] = this.values[next];
+                    hole = next;
+                } else {}
+                next = (next + 1) & mask;
+            }
+            this.keys[hole] = EMPTY;
+            this.values[hole] = null;
+        }
+
+        private void grow() {
+            long[] oldKeys = this.keys;
+            Object[] oldValues = this.values;
+            this.keys = new long[oldKeys.length * 2];
+            Arrays.fill(this.keys, EMPTY);
+            this.values = new Object[oldValues.length * 2];
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldKeys[k] != EMPTY) {
+                    int s = this.slot(oldKeys[k]);
+                    this.keys[s] = oldKeys[k];
+                    this.values[s] = oldValues[k];
+                } else {}
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing SparseHexagonBoard.java");
+        int uErrors = 0; // unintentional errors
+
+        // test SparseHexagonBoard constructor with a board of size -1 and a board too big to index
+        try {
+            SparseHexagonBoard<String> invalidBoard = new SparseHexagonBoard<>(-1);
+            System.out.println("Error: SparseHexagonBoard() constructor did not throw an exception for a board of size -1");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("SparseHexagonBoard() constructor correctly caught exception for invalid input.");
+        }
+        try {
+            SparseHexagonBoard<String> invalidBoard = new SparseHexagonBoard<>(HexagonLayout.MAX_SIZE + 1);
+            System.out.println("Error: SparseHexagonBoard() constructor did not throw an exception for a board that is too big");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            System.out.println("SparseHexagonBoard() constructor correctly caught exception for a board that is too big.");
+        }
+
+        // walk the same path over a FlatHexagonBoard and a SparseHexagonBoard and compare them after every move,
+        // clearing some cells on the way so that items are removed from the table as well as added
+        try {
+            for (int size = 0; size <= 6; size++) {
+                FlatHexagonBoard<Integer> flatBoard = new FlatHexagonBoard<>(size);
+                SparseHexagonBoard<Integer> board = new SparseHexagonBoard<>(size);
+                Random random = new Random(size);
+                for (int step = 0; step < 2000; step++) {
+                    boolean flatMoved;
+                    boolean moved;
+                    switch (random.nextInt(6)) {
+                        case 0: flatMoved = flatBoard.goUpLeft(); moved = board.goUpLeft(); break;
+                        case 1: flatMoved = flatBoard.goUpRight(); moved = board.goUpRight(); break;
+                        case 2: flatMoved = flatBoard.goMidLeft(); moved = board.goMidLeft(); break;
+                        case 3: flatMoved = flatBoard.goMidRight(); moved = board.goMidRight(); break;
+                        case 4: flatMoved = flatBoard.goDownLeft(); moved = board.goDownLeft(); break;
+                        default: flatMoved = flatBoard.goDownRight(); moved = board.goDownRight(); break;
+                    }
+                    Integer item = random.nextInt(3) == 0 ? null : step;
+                    board.setCurrentNodeItem(item);
+                    flatBoard.setCurrentNodeItem(item);
+                    if (flatMoved != moved || flatBoard.index() != board.index()
+                            || !Objects.equals(flatBoard.currentNodeItem(), board.currentNodeItem())) {
+                        System.out.println("Error: SparseHexagonBoard does not match FlatHexagonBoard after step " + step
+                                + " on a board of size " + size);
+                        uErrors += 1;
+                        break;
+                    } else {}
+                }
+                int occupied = 0;
+                for (int i = 0; i < flatBoard.cellCount(); i++) {
+                    if (!Objects.equals(flatBoard.get(i), board.get(i))) {
+                        System.out.println("Error: cell " + i + " should be " + flatBoard.get(i) + ", but is " + board.get(i));
+                        uErrors += 1;
+                    } else {}
+                    occupied += flatBoard.get(i) == null ? 0 : 1;
+                }
+                if (occupied != board.occupied()) {
+                    System.out.println("Error: occupied() should return " + occupied + ", but returned " + board.occupied());
+                    uErrors += 1;
+                } else {}
+                if (!flatBoard.toString().equals(board.toString())) {
+                    System.out.println("Error: toString() does not match FlatHexagonBoard for a board of size " + size);
+                    uErrors += 1;
+                } else {}
+            }
+
+            // test a board far too big to keep every cell, with only a few cells set
+            int big = HexagonLayout.MAX_SIZE;
+            SparseHexagonBoard<String> bigBoard = new SparseHexagonBoard<>(big);
+            bigBoard.set(0, 0, "top left");
+            bigBoard.set(2 * big, big, "bottom right");
+            bigBoard.setCentreNodeItem("centre");
+            bigBoard.set(bigBoard.cellCount() - 1, "last");
+            while (bigBoard.goDownRight()) {
+            }
+            if (bigBoard.occupied() != 3 || !"last".equals(bigBoard.currentNodeItem())
+                    || !"top left".equals(bigBoard.get(0)) || bigBoard.get(1, 1) != null) {
+                System.out.println("Error: a SparseHexagonBoard of size " + big + " did not keep the items given to set()");
+                uErrors += 1;
+            } else {}
+            int[] indexes = new int[1];
+            bigBoard.forEach((item, i) -> indexes[0] += i == 0 ? 1 : 0);
+            bigBoard.set(0, null);
+            if (indexes[0] != 1 || bigBoard.occupied() != 2 || bigBoard.get(0, 0) != null) {
+                System.out.println("Error: forEach() or removing an item did not work on a board of size " + big);
+                uErrors += 1;
+            } else {}
+        }
+        catch (Exception e) {
+            System.out.println("Error: SparseHexagonBoard method threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
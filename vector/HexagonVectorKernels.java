@@ -0,0 +1,128 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Code Written by Jackson L. Davis
+ *
+ * HexagonVectorKernels does the work of HexagonKernels with the jdk.incubator.vector API,
+ * on as many cells at a time as the preferred byte vector of the machine holds, and finishes the last few cells
+ * of each range with the scalar loops.
+ *
+ * This class needs the incubator module, so it is kept out of the main directory and compiled on its own:
+ *
+ *     javac -d out *.java
+ *     javac --add-modules jdk.incubator.vector -cp out -d out vector/HexagonVectorKernels.java
+ *     java --add-modules jdk.incubator.vector -cp out HexagonVectorKernels
+ *
+ * HexagonKernels.best() finds it by name, and uses the scalar kernels if it is not there.
+ *
+ * A live count is the sum of min(neighbour, 1) over the six neighbours, since states are never negative.
+ * A step works out 7 * state + live count for every lane and looks the next state up in the rule table with
+ * one lane shuffle of the first vector of the table. This needs a table at least one vector long
+ * (HexagonAutomaton pads its table to HexagonKernels.TABLE_LENGTH), and only covers the states whose row
+ * of the table is in the first vector, 0 to 8 with 64-byte vectors. A group of cells holding a higher state
+ * is stepped with the scalar loop.
+ *
+ * fill() is not done here, Arrays.fill() is already turned into vector stores by the JIT and is faster than a loop of them.
+ */
+public class HexagonVectorKernels extends HexagonKernels {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructor method for HexagonVectorKernels, use HexagonKernels.best() to get the shared kernels.
+     */
+    public HexagonVectorKernels() {
+        super();
+    }
+
+    @Override
+    public String name() {
+        return "vector " + SPECIES.vectorBitSize() + " bits";
+    }
+
+    @Override
+    public void liveCounts(byte[] cells, int width, int from, int to, byte[] counts) {
+        int p = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; p < upper; p += SPECIES.length()) {
+            liveAround(cells, width, p).intoArray(counts, p);
+        }
+        super.liveCounts(cells, width, p, to, counts);
+    }
+
+    @Override
+    public void step(byte[] cells, int width, byte[] table, int from, int to, byte[] out) {
+        int lanes = SPECIES.length();
+        if (table.length < lanes) {
+            super.step(cells, width, table, from, to, out);
+            return;
+        } else {}
+        ByteVector rule = ByteVector.fromArray(SPECIES, table, 0);
+        byte highest = (byte) ((lanes - 7) / 7); // the highest state whose row of the table is in the first vector
+        int p = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; p < upper; p += lanes) {
+            ByteVector state = ByteVector.fromArray(SPECIES, cells, p);
+            if (state.compare(VectorOperators.GT, highest).anyTrue()) {
+                super.step(cells, width, table, p, p + lanes, out);
+            }
+            else {
+                state.mul((byte) 7).add(liveAround(cells, width, p)).selectFrom(rule).intoArray(out, p);
+            }
+        }
+        super.step(cells, width, table, p, to, out);
+    }
+
+    /**
+     * @return the number of live neighbours of the cells from p up to but not including p + SPECIES.length()
+     */
+    private static ByteVector liveAround(byte[] cells, int width, int p) {
+        return ByteVector.fromArray(SPECIES, cells, p - width).min((byte) 1)
+                .add(ByteVector.fromArray(SPECIES, cells, p - width + 1).min((byte) 1))
+                .add(ByteVector.fromArray(SPECIES, cells, p - 1).min((byte) 1))
+                .add(ByteVector.fromArray(SPECIES, cells, p + 1).min((byte) 1))
+                .add(ByteVector.fromArray(SPECIES, cells, p + width - 1).min((byte) 1))
+                .add(ByteVector.fromArray(SPECIES, cells, p + width).min((byte) 1));
+    }
+
+    @Override
+    public int countEqual(byte[] a, int from, int to, byte value) {
+        int count = 0;
+        int p = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; p < upper; p += SPECIES.length()) {
+            VectorMask<Byte> equal = ByteVector.fromArray(SPECIES, a, p).compare(VectorOperators.EQ, value);
+            count += equal.trueCount();
+        }
+        return count + super.countEqual(a, p, to, value);
+    }
+
+    @Override
+    public int diff(byte[] a, byte[] b, int from, int to) {
+        int count = 0;
+        int p = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; p < upper; p += SPECIES.length()) {
+            VectorMask<Byte> different = ByteVector.fromArray(SPECIES, a, p).compare(VectorOperators.NE, ByteVector.fromArray(SPECIES, b, p));
+            count += different.trueCount();
+        }
+        return count + super.diff(a, b, p, to);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Testing HexagonVectorKernels.java");
+        int uErrors = 0; // unintentional errors
+
+        // test that HexagonKernels.best() found these kernels, and that they agree with the scalar kernels
+        if (!(HexagonKernels.best() instanceof HexagonVectorKernels)) {
+            System.out.println("Error: HexagonKernels.best() did not load HexagonVectorKernels");
+            uErrors += 1;
+        } else {}
+        uErrors += HexagonKernels.check(new HexagonVectorKernels());
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}